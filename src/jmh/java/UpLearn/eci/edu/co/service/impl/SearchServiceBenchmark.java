@@ -0,0 +1,148 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.impl.search.Bm25fTutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.ParallelScorer;
+import UpLearn.eci.edu.co.service.impl.search.QueryTokenizer;
+import UpLearn.eci.edu.co.service.impl.search.SearchResultCache;
+import UpLearn.eci.edu.co.service.impl.search.SuggestionIndex;
+import UpLearn.eci.edu.co.service.impl.search.TrigramIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorFacetIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorIndexSnapshot;
+import UpLearn.eci.edu.co.service.impl.search.TutorLeaderboard;
+import UpLearn.eci.edu.co.service.impl.search.TutorPriceIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.TutorSearchIndex;
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+
+/**
+ * Benchmarks del camino caliente de la búsqueda en memoria sobre corpus sintéticos.
+ * <p>
+ * La caché de resultados se desactiva para medir el cálculo completo en cada llamada.
+ * Se ejecutan con el perfil {@code benchmark}, que además activa el perfilador de
+ * asignaciones ({@code -prof gc}):
+ * <pre>
+ * ./mvnw -Pbenchmark package exec:exec
+ * ./mvnw -Pbenchmark package exec:exec -Djmh.args="-prof gc SearchServiceBenchmark.search -p corpusSize=10000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int corpusSize;
+
+    /* Consulta de un token frecuente, de una frase de especialización, de un nombre y con errores */
+    @Param({"matematicas", "calculo integral", "gomez", "fisca"})
+    public String query;
+
+    private SearchServiceImpl searchService;
+    private ParallelScorer parallelScorer;
+    private TutorScorer scorer;
+    private QueryTokenizer tokenizer;
+    private User sampleTutor;
+    private String normalizedQuery;
+    private Set<String> queryTokens;
+    private TutorScorer.PreparedQuery preparedQuery;
+    private final TokenLengthSum tokenLengths = new TokenLengthSum();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<User> tutors = SyntheticTutors.generate(corpusSize, 42L);
+        TutorSearchIndex index = new TutorSearchIndex(SyntheticTutors.repository(tutors), new TutorIndexSnapshot("", "", false));
+        index.ensureLoaded();
+        parallelScorer = new ParallelScorer(5000, 0);
+        scorer = new Bm25fTutorScorer(index, 0);
+        tokenizer = new QueryTokenizer(new String[0]);
+        searchService = new SearchServiceImpl(index, new TutorLeaderboard(index), new TrigramIndex(index),
+                new SuggestionIndex(index), new SearchResultCache(0, 0), new TutorFacetIndex(index), parallelScorer,
+                scorer, tokenizer, new TutorPriceIndex(index));
+
+        sampleTutor = tutors.get(corpusSize / 2);
+        normalizedQuery = SearchTextNormalizer.normalize(query);
+        queryTokens = tokenizer.tokenize(normalizedQuery);
+        preparedQuery = scorer.prepare(normalizedQuery, queryTokens);
+        // Carga perezosa de los índices derivados fuera de la medición
+        searchService.getTopTutors();
+        searchService.searchTutors(query, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelScorer.shutdown();
+    }
+
+    @Benchmark
+    public TutorSearchPageDTO search() {
+        return searchService.searchTutors(query, null, null, null);
+    }
+
+    @Benchmark
+    public TutorSearchPageDTO searchBlank() {
+        return searchService.searchTutors("", null, null, null);
+    }
+
+    /* Preparación de la consulta: idf de cada término a partir del índice */
+    @Benchmark
+    public TutorScorer.PreparedQuery prepareQuery() {
+        return scorer.prepare(normalizedQuery, queryTokens);
+    }
+
+    @Benchmark
+    public double scoreTutor() {
+        return preparedQuery.score(sampleTutor);
+    }
+
+    @Benchmark
+    public Set<String> tokenize() {
+        return tokenizer.tokenize(normalizedQuery);
+    }
+
+    /* Recorrido de tokens sin materializarlos (no debería asignar memoria) */
+    @Benchmark
+    public int forEachToken() {
+        tokenLengths.total = 0;
+        tokenizer.forEachToken(normalizedQuery, tokenLengths);
+        return tokenLengths.total;
+    }
+
+    /* Consumidor reutilizable: suma el largo de los tokens */
+    private static final class TokenLengthSum implements QueryTokenizer.TokenConsumer {
+        int total;
+
+        @Override
+        public void accept(String text, int start, int end) {
+            total += end - start;
+        }
+    }
+
+    @Benchmark
+    public List<TutorSummaryDTO> topTutors() {
+        return searchService.getTopTutors();
+    }
+}
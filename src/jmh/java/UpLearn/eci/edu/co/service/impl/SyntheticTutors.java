@@ -0,0 +1,98 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+/**
+ * Corpus sintético de tutores para los benchmarks y un repositorio en memoria que lo sirve.
+ * La semilla es fija para que todas las corridas midan el mismo corpus.
+ */
+final class SyntheticTutors {
+
+    static final String[] SPECIALIZATIONS = {
+            "Matemáticas", "Física", "Química", "Biología", "Cálculo Diferencial", "Cálculo Integral",
+            "Álgebra Lineal", "Estadística", "Programación", "Bases de Datos", "Inglés", "Francés",
+            "Historia", "Filosofía", "Economía", "Contabilidad", "Ingeniería Civil", "Agropecuaria",
+            "Dibujo Técnico", "Música"};
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Andrés", "Camila", "Carlos", "Daniela", "David", "Juliana", "Felipe", "Laura",
+            "José", "María", "Mateo", "Natalia", "Sebastián", "Valentina", "Santiago"};
+    private static final String[] LAST_NAMES = {
+            "Gómez", "Rodríguez", "Martínez", "López", "García", "Pérez", "Sánchez", "Ramírez",
+            "Torres", "Díaz", "Muñoz", "Rojas", "Vargas", "Castro"};
+    private static final String[] BIO_WORDS = {
+            "experiencia", "docente", "universidad", "clases", "personalizadas", "preparación",
+            "exámenes", "estudiantes", "colegio", "metodología", "práctica", "proyectos", "tutorías",
+            "ejercicios", "virtual", "presencial", "años", "enseñanza"};
+
+    private SyntheticTutors() {
+    }
+
+    /** Genera n tutores con 1-3 especializaciones, bio de 20-40 palabras y tarifa aleatoria */
+    static List<User> generate(int n, long seed) {
+        Random random = new Random(seed);
+        List<User> tutors = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            User user = new User();
+            user.setSub("tutor-" + i);
+            user.setName(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES) + " " + pick(random, LAST_NAMES));
+            user.setRole(List.of("TUTOR"));
+            user.setBio(bio(random));
+            int specs = 1 + random.nextInt(3);
+            List<Specialization> specializations = new ArrayList<>(specs);
+            for (int s = 0; s < specs; s++) {
+                specializations.add(new Specialization(pick(random, SPECIALIZATIONS), random.nextBoolean(),
+                        "MANUAL", null, null));
+            }
+            user.setSpecializations(specializations);
+            List<String> credentials = new ArrayList<>();
+            for (int c = random.nextInt(4); c > 0; c--) {
+                credentials.add("https://example.org/credentials/" + i + "-" + c + ".pdf");
+            }
+            user.setCredentials(credentials);
+            user.setVerified(random.nextInt(3) == 0);
+            user.setTokensPerHour(5 + random.nextInt(100));
+            user.setSearchFields(SearchFields.from(user));
+            tutors.add(user);
+        }
+        return tutors;
+    }
+
+    /** Repositorio que solo implementa la lectura de tutores usada por los índices en memoria */
+    static UserMongoRepository repository(List<User> tutors) {
+        return (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> tutors.stream();
+                    case "findAllTutors" -> tutors;
+                    case "toString" -> "InMemoryUserMongoRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static String bio(Random random) {
+        int words = 20 + random.nextInt(21);
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sb.append(' ');
+            }
+            sb.append(random.nextInt(8) == 0 ? pick(random, SPECIALIZATIONS) : pick(random, BIO_WORDS));
+        }
+        return sb.toString();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
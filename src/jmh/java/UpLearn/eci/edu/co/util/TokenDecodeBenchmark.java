@@ -0,0 +1,92 @@
+package UpLearn.eci.edu.co.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks de la extracción de claims de un token de Cognito sintético (sin firma
+ * verificada y sin caché), comparando el árbol de Jackson con la lectura en streaming:
+ * <pre>
+ * ./mvnw -Pbenchmark package exec:exec -Djmh.args="-prof gc TokenDecodeBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenDecodeBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CognitoTokenDecoder decoder;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        decoder = new CognitoTokenDecoder(new TokenClaimsCache(0), new JwksKeyProvider("", "", 0), "", "", "id", false);
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        // Payload con la forma de un id token de Cognito, incluidos claims que no se usan
+        String header = "{\"kid\":\"k1\",\"alg\":\"RS256\"}";
+        String payload = "{\"sub\":\"5f1c2b7e-0d4a-4c1e-9a57-3e2f1b6c8d90\","
+                + "\"cognito:groups\":[\"students\",\"tutors\"],"
+                + "\"email_verified\":true,"
+                + "\"iss\":\"https://cognito-idp.us-east-1.amazonaws.com/us-east-1_Example\","
+                + "\"cognito:username\":\"5f1c2b7e-0d4a-4c1e-9a57-3e2f1b6c8d90\","
+                + "\"aud\":\"3n4b5c6d7e8f9g0h1i2j3k4l5m\","
+                + "\"event_id\":\"a1b2c3d4-e5f6-7a8b-9c0d-e1f2a3b4c5d6\","
+                + "\"token_use\":\"id\",\"auth_time\":" + (exp - 3600) + ","
+                + "\"name\":\"María Gómez\",\"nickname\":\"mgomez\","
+                + "\"phone_number\":\"+573001234567\",\"exp\":" + exp + ","
+                + "\"iat\":" + (exp - 3600) + ",\"email\":\"maria.gomez@example.com\"}";
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        token = encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(new byte[256]);
+    }
+
+    /* Referencia: el camino anterior (split, String intermedio y árbol completo) */
+    @Benchmark
+    public CognitoPrincipal jacksonTree() throws Exception {
+        String[] parts = token.split("\\.");
+        JsonNode claims = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(parts[1])));
+        JsonNode exp = claims.get("exp");
+        return new CognitoPrincipal(claims.get("sub").asText(), claims.get("email").asText(),
+                claims.get("name").asText(),
+                claims.has("phone_number") ? claims.get("phone_number").asText() : null,
+                claims.has("nickname") ? claims.get("nickname").asText() : null,
+                exp != null ? exp.asLong() : 0);
+    }
+
+    @Benchmark
+    public CognitoPrincipal streaming() throws Exception {
+        return JwtClaimsReader.readPrincipal(token, JwtClaimsReader.Segments.of(token));
+    }
+
+    /* Camino completo del decodificador con caché desactivada */
+    @Benchmark
+    public CognitoTokenDecoder.CognitoUserInfo extractUserInfo() {
+        return decoder.extractUserInfo(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return decoder.isTokenValid(token);
+    }
+}
@@ -2,8 +2,10 @@ package UpLearn.eci.edu.co;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class UpLearnApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,14 @@
+package UpLearn.eci.edu.co.config;
+
+/**
+ * Parámetros de la petición inválidos (cursor, orden, etc.): el controlador responde 400
+ * con el mensaje en lugar de un error interno.
+ */
+public class InvalidRequestException extends UserServiceException {
+    /**
+     * @param message explicación para el cliente de qué parámetro corregir
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
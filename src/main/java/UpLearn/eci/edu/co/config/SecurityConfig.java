@@ -11,6 +11,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import UpLearn.eci.edu.co.util.CognitoTokenFilter;
+import UpLearn.eci.edu.co.util.SearchAdmissionFilter;
 
 import java.util.Arrays;
 
@@ -19,9 +20,11 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final CognitoTokenFilter cognitoTokenFilter;
+    private final SearchAdmissionFilter searchAdmissionFilter;
 
-    public SecurityConfig(CognitoTokenFilter cognitoTokenFilter) {
+    public SecurityConfig(CognitoTokenFilter cognitoTokenFilter, SearchAdmissionFilter searchAdmissionFilter) {
         this.cognitoTokenFilter = cognitoTokenFilter;
+        this.searchAdmissionFilter = searchAdmissionFilter;
     }
 
     @Bean
@@ -33,6 +36,8 @@ public class SecurityConfig {
                         .requestMatchers("/Api-user/users").permitAll()
                         .requestMatchers("/Api-user/tutor/credentials/validate").permitAll()
                         .requestMatchers("/Api-user/public/**").permitAll()
+                        .requestMatchers("/Api-search/stats").hasRole("ADMIN")
+                        .requestMatchers("/Api-user/auth/token-cache/stats").hasRole("ADMIN")
                         .requestMatchers("/Api-search/**").permitAll()
                         .requestMatchers("/Api-user/**").authenticated()
                         .requestMatchers("/Api-user/public/profile").permitAll()
@@ -43,6 +48,9 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(cognitoTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        // Admisión de la búsqueda tras autenticar (limita por usuario si hay token) y después
+        // de CORS, para que los 429/503 lleguen al navegador
+        http.addFilterAfter(searchAdmissionFilter, CognitoTokenFilter.class);
 
         return http.build();
     }
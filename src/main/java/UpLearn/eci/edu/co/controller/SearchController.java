@@ -2,14 +2,27 @@ package UpLearn.eci.edu.co.controller;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import UpLearn.eci.edu.co.config.InvalidRequestException;
 import UpLearn.eci.edu.co.config.UserServiceException;
-import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.dto.SuggestionDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
 import UpLearn.eci.edu.co.service.interfaces.SearchService;
+import UpLearn.eci.edu.co.util.ConditionalGet;
 
 /**
  * Controlador para la búsqueda de tutores
+ * Los listados llevan como ETag la versión del catálogo: con If-None-Match vigente
+ * se responde 304 sin buscar ni serializar
  */
 @RestController
 @RequestMapping("/Api-search")
@@ -17,23 +30,79 @@ import UpLearn.eci.edu.co.service.interfaces.SearchService;
 public class SearchController {
 
     private final SearchService searchService;
+    private final CacheControl cacheControl;
 
     @Autowired
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService,
+                            @Value("${http.cache.search.max-age-seconds:30}") long maxAgeSeconds) {
         this.searchService = searchService;
+        this.cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
     }
 
     /**
      * Endpoint para buscar tutores por nombre o especialidad
      * 
      * @param q Parámetro de búsqueda (opcional)
-     * @return Lista de tutores que coinciden con la búsqueda
+     * @param size Tamaño de página (opcional, por defecto 20, máximo 100)
+     * @param after Cursor {@code nextCursor} de la página anterior (opcional)
+     * @param specialization Filtra por nombre de especialización (opcional)
+     * @param verified Filtra por tutor verificado (opcional)
+     * @param verifiedSpecialization Filtra por especialización verificada (opcional)
+     * @param minTokens Tarifa mínima en tokens por hora (opcional)
+     * @param maxTokens Tarifa máxima en tokens por hora (opcional)
+     * @return Página de tutores que coinciden con la búsqueda, el cursor de la siguiente
+     *         y los conteos por especialización y rango de tarifa
      * @throws UserServiceException en caso de error durante la búsqueda
      */
     @GetMapping("/tutors")
-    public List<User> searchTutors(@RequestParam(value = "q", required = false) String q)
+    public ResponseEntity<TutorSearchPageDTO> searchTutors(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "specialization", required = false) String specialization,
+            @RequestParam(value = "verified", required = false) Boolean verified,
+            @RequestParam(value = "verifiedSpecialization", required = false) Boolean verifiedSpecialization,
+            @RequestParam(value = "minTokens", required = false) Integer minTokens,
+            @RequestParam(value = "maxTokens", required = false) Integer maxTokens,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
             throws UserServiceException {
-        return searchService.searchTutors(q);
+        TutorSearchFilterDTO filter = new TutorSearchFilterDTO(
+                specialization, verified, verifiedSpecialization, minTokens, maxTokens);
+        return ConditionalGet.respond(ifNoneMatch, searchService.catalogueVersion(), cacheControl,
+                () -> searchService.searchTutors(q, size, after, filter));
+    }
+
+    /**
+     * Endpoint para recorrer los tutores ordenados por tarifa
+     * 
+     * @param minTokens Tarifa mínima en tokens por hora (opcional)
+     * @param maxTokens Tarifa máxima en tokens por hora (opcional)
+     * @param order 'asc' (por defecto) o 'desc'
+     * @param size Tamaño de página (opcional, por defecto 20, máximo 100)
+     * @param after Cursor {@code nextCursor} de la página anterior (opcional)
+     * @return Página de tutores con tarifa configurada y el cursor de la siguiente (vacía si
+     *         minTokens supera a maxTokens)
+     * @throws UserServiceException si el orden o el cursor no son válidos (400), o en caso de error
+     */
+    @GetMapping("/tutors/by-price")
+    public ResponseEntity<TutorSearchPageDTO> browseTutorsByPrice(
+            @RequestParam(value = "minTokens", required = false) Integer minTokens,
+            @RequestParam(value = "maxTokens", required = false) Integer maxTokens,
+            @RequestParam(value = "order", required = false, defaultValue = "asc") String order,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws UserServiceException {
+        boolean descending;
+        if ("asc".equalsIgnoreCase(order)) {
+            descending = false;
+        } else if ("desc".equalsIgnoreCase(order)) {
+            descending = true;
+        } else {
+            throw new InvalidRequestException("Orden inválido: use 'asc' o 'desc'");
+        }
+        return ConditionalGet.respond(ifNoneMatch, searchService.catalogueVersion(), cacheControl,
+                () -> searchService.browseTutorsByPrice(minTokens, maxTokens, descending, size, after));
     }
 
     /**
@@ -44,7 +113,46 @@ public class SearchController {
      * @throws UserServiceException en caso de error durante la búsqueda
      */
     @GetMapping("/tutors/top")
-    public List<User> getTopTutors() throws UserServiceException {
-        return searchService.getTopTutors();
+    public ResponseEntity<List<TutorSummaryDTO>> getTopTutors(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws UserServiceException {
+        return ConditionalGet.respond(ifNoneMatch, searchService.catalogueVersion(), cacheControl,
+                searchService::getTopTutors);
+    }
+
+    /**
+     * Endpoint de autocompletado para la caja de búsqueda
+     * Sugiere especializaciones y nombres de tutores que empiezan por el prefijo,
+     * ordenados por la cantidad de tutores que comparten cada término
+     * 
+     * @param prefix Texto escrito hasta el momento
+     * @param limit Cantidad máxima de sugerencias (opcional)
+     * @return Lista de sugerencias
+     * @throws UserServiceException en caso de error
+     */
+    @GetMapping("/suggest")
+    public List<SuggestionDTO> suggest(
+            @RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit)
+            throws UserServiceException {
+        return searchService.suggest(prefix, limit);
+    }
+
+    /**
+     * Endpoint con los contadores del backend de búsqueda
+     * (aciertos, fallos, desalojos e invalidaciones de la caché de resultados).
+     * Solo para ROLE_ADMIN ({@code auth.admin-subs})
+     * 
+     * @return Mapa con las estadísticas
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> getSearchStats() {
+        return searchService.getSearchStats();
+    }
+
+    /** Parámetros inválidos: 400 con el mensaje para el cliente */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(InvalidRequestException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
     }
 }
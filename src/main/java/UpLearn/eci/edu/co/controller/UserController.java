@@ -1,5 +1,7 @@
 package UpLearn.eci.edu.co.controller;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +16,8 @@ import UpLearn.eci.edu.co.dto.TutorProfileDTO;
 import UpLearn.eci.edu.co.model.User;
 import org.springframework.web.multipart.MultipartFile;
 import UpLearn.eci.edu.co.service.interfaces.UserService;
+import UpLearn.eci.edu.co.util.ConditionalGet;
+import UpLearn.eci.edu.co.util.TokenClaimsCache;
 /**
  * Controlador para la gestión de usuarios
  */
@@ -22,9 +26,15 @@ import UpLearn.eci.edu.co.service.interfaces.UserService;
 @CrossOrigin(origins = "*")
 public class UserController {
     private final UserService userService;
+    private final CacheControl publicProfileCacheControl;
+    private final TokenClaimsCache tokenClaimsCache;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TokenClaimsCache tokenClaimsCache) {
         this.userService = userService;
+        this.tokenClaimsCache = tokenClaimsCache;
+        // El perfil incluye el email: nunca en cachés compartidas (CDN, proxies) y el navegador
+        // revalida siempre con el ETag, así que un cambio de perfil se ve en la siguiente petición
+        this.publicProfileCacheControl = CacheControl.noCache().cachePrivate();
     }
     /* Obtener todos los usuarios */
     @GetMapping("/users")
@@ -43,6 +53,12 @@ public class UserController {
         return "Usuario eliminado correctamente";
     }
 
+    /* Contadores de la caché de tokens decodificados (aciertos, fallos, tasa de acierto, expiraciones); solo ROLE_ADMIN */
+    @GetMapping("/auth/token-cache/stats")
+    public Map<String, Object> tokenCacheStats() {
+        return tokenClaimsCache.stats();
+    }
+
     /**
      * Procesar Usuario Cognito
      * Si roles=null → Frontend muestra selección de roles
@@ -231,13 +247,16 @@ public class UserController {
     @GetMapping("/public/profile")
     public ResponseEntity<Map<String, Object>> getPublicProfile(
             @RequestParam(value = "sub", required = false) String sub,
-            @RequestParam(value = "id", required = false) String id
+            @RequestParam(value = "id", required = false) String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) throws UserServiceException {
         String key = (sub != null && !sub.isBlank()) ? sub : id;
         if (key == null || key.isBlank()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Debe proporcionar 'sub' o 'id'"));
         }
-        return ResponseEntity.ok(userService.getPublicProfileBySub(key));
+        // ETag = versión del documento ya leído (una sola lectura por petición); el cuerpo solo se arma si no coincide
+        return ConditionalGet.respond(ifNoneMatch, userService.getPublicProfileVersion(key),
+                publicProfileCacheControl, () -> userService.getPublicProfileBySub(key));
     }
 
 }
@@ -0,0 +1,18 @@
+package UpLearn.eci.edu.co.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Conteos de facetas sobre el conjunto completo de resultados de una búsqueda
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchFacetsDTO {
+    private Map<String, Integer> specializations; // Especialización -> tutores, de mayor a menor
+    private Map<String, Integer> tokensPerHour; // Rango de tarifa (ej: "10-19", "80+") -> tutores
+}
@@ -0,0 +1,14 @@
+package UpLearn.eci.edu.co.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionDTO {
+    private String text; // Texto a mostrar (ej: "Matemáticas")
+    private String type; // SPECIALIZATION o TUTOR
+    private int tutors; // Cantidad de tutores que comparten el término
+}
@@ -0,0 +1,25 @@
+package UpLearn.eci.edu.co.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filtros opcionales de la búsqueda de tutores (null = sin filtrar por ese campo)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TutorSearchFilterDTO {
+    private String specialization; // Nombre de la especialización (sin importar tildes ni mayúsculas)
+    private Boolean verified; // Tutor verificado (User.isVerified)
+    private Boolean verifiedSpecialization; // Especialización verificada por IA (la filtrada, o cualquiera)
+    private Integer minTokensPerHour;
+    private Integer maxTokensPerHour;
+
+    /** Indica si hay al menos un filtro activo */
+    public boolean hasCriteria() {
+        return (specialization != null && !specialization.isBlank()) || verified != null
+                || verifiedSpecialization != null || minTokensPerHour != null || maxTokensPerHour != null;
+    }
+}
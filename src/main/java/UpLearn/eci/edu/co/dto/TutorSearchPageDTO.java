@@ -0,0 +1,17 @@
+package UpLearn.eci.edu.co.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TutorSearchPageDTO {
+    private List<TutorSummaryDTO> tutors;
+    private int size;
+    private String nextCursor; // null cuando no hay más resultados
+    private SearchFacetsDTO facets; // Conteos sobre todos los resultados (no solo la página)
+}
@@ -0,0 +1,35 @@
+package UpLearn.eci.edu.co.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Vista pública y reducida de un tutor para los listados de búsqueda.
+ * No incluye datos de contacto, de identificación ni las URLs de credenciales.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TutorSummaryDTO {
+    @JsonProperty("userId")
+    private String sub; // Mismo nombre de propiedad que en el perfil completo
+    private String name;
+    private String bio; // Fragmento inicial de la biografía
+    private List<SpecializationSummary> specializations;
+    private boolean isVerified = false;
+    private Integer tokensPerHour;
+
+    /** Especialización sin metadatos internos de validación */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SpecializationSummary {
+        private String name;
+        private boolean verified;
+    }
+}
@@ -0,0 +1,62 @@
+package UpLearn.eci.edu.co.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+
+/**
+ * Campos de búsqueda precalculados de un tutor (sin tildes y en minúsculas).
+ * Se calculan al escribir el perfil y se guardan junto al usuario para que la
+ * búsqueda no tenga que normalizar texto en cada consulta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFields {
+
+    private String name;
+    private String bio;
+
+    /**
+     * Nombres de especializaciones normalizados, en el mismo orden que {@link User#getSpecializations()}
+     */
+    private List<String> specializations;
+
+    /**
+     * Nombres de especializaciones normalizados unidos por espacios (para coincidencia de frase)
+     */
+    private String specializationsText;
+
+    /**
+     * Devuelve los campos de búsqueda del usuario, calculándolos y asignándolos si
+     * el documento aún no los tiene (no migrado o recién promovido a tutor)
+     */
+    public static SearchFields ensure(User user) {
+        if (user.getSearchFields() == null) {
+            user.setSearchFields(from(user));
+        }
+        return user.getSearchFields();
+    }
+
+    /** Calcula los campos de búsqueda a partir del estado actual del usuario */
+    public static SearchFields from(User user) {
+        List<String> specs = new ArrayList<>();
+        if (user.getSpecializations() != null) {
+            for (Specialization spec : user.getSpecializations()) {
+                if (spec != null && spec.getName() != null) {
+                    specs.add(SearchTextNormalizer.normalize(spec.getName()));
+                }
+            }
+        }
+        return new SearchFields(
+                SearchTextNormalizer.normalize(user.getName()),
+                SearchTextNormalizer.normalize(user.getBio()),
+                specs,
+                String.join(" ", specs));
+    }
+}
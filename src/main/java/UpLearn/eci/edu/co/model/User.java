@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Data
@@ -18,6 +20,7 @@ public class User {
     private String sub; // ID único de Cognito (sub claim)
     private String name;
     private String email;
+    @Indexed
     private List<String> role; // Lista de roles: STUDENT, TUTOR, etc.
     private String phoneNumber;
     
@@ -36,4 +39,13 @@ public class User {
 
     // Tarifa en tokens por hora (solo relevante si el usuario tiene rol TUTOR)
     private Integer tokensPerHour; // null si no configurado aún
+
+    // Campos de búsqueda normalizados, calculados al escribir el perfil (no se exponen en el API)
+    @JsonIgnore
+    private SearchFields searchFields;
+
+    // Última escritura del documento (epoch ms); marca de agua para ponerse al día tras cargar el snapshot de búsqueda
+    @JsonIgnore
+    @Indexed
+    private Long lastModified;
 }
@@ -0,0 +1,248 @@
+package UpLearn.eci.edu.co.service.events;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import UpLearn.eci.edu.co.model.User;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publica como {@link UserChangedEvent} los cambios de la colección de usuarios
+ * hechos por cualquier réplica del servicio, leyéndolos de un change stream de MongoDB.
+ * <p>
+ * {@link UpLearn.eci.edu.co.service.impl.UserRepositoryImpl} ya publica sus propias
+ * escrituras en el proceso; este componente hace lo mismo con las de las demás
+ * réplicas, de modo que índices, rankings y cachés en memoria no queden desactualizados.
+ * Las escrituras locales llegan dos veces (una por cada vía): los oyentes ya son
+ * idempotentes, así que solo cuesta una reindexación extra del mismo documento.
+ * <p>
+ * El resume token del último cambio procesado se guarda en disco, para que al
+ * reiniciar se retome donde se quedó sin perder cambios; una ruta relativa se resuelve
+ * dentro de {@code app.data-dir} y, en sistemas POSIX, el archivo y los directorios que
+ * se crean solo son accesibles por el dueño del proceso. Si el oplog ya no contiene
+ * ese punto se empieza desde el presente (el índice de búsqueda se pone al día con su
+ * marca de agua al arrancar). Requiere que MongoDB corra como replica set; se activa
+ * con {@code users.change-stream.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "users.change-stream.enabled", havingValue = "true")
+public class UserChangeStreamPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeStreamPublisher.class);
+    /* Código de MongoDB cuando el resume token ya salió del oplog */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path resumeTokenPath;
+    private final long tokenFlushMs;
+
+    private volatile boolean running = false;
+    private Thread worker;
+    private BsonDocument resumeToken;
+    private long lastFlush = 0;
+
+    public UserChangeStreamPublisher(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+                                     @Value("${app.data-dir:${user.home}/.uplearn}") String dataDir,
+                                     @Value("${users.change-stream.resume-token-path:users-change-stream.token}") String resumeTokenPath,
+                                     @Value("${users.change-stream.token-flush-ms:1000}") long tokenFlushMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        // Una ruta absoluta se usa tal cual; una relativa queda dentro del directorio de datos
+        this.resumeTokenPath = Path.of(dataDir).resolve(resumeTokenPath);
+        this.tokenFlushMs = tokenFlushMs;
+    }
+
+    /** Empieza a escuchar cuando las estructuras en memoria ya están cargadas */
+    @Order(20)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        resumeToken = readResumeToken();
+        running = true;
+        worker = new Thread(this::run, "users-change-stream");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = worker;
+        }
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushResumeToken(true);
+    }
+
+    /* Bucle del hilo: abre el stream y lo reabre con espera creciente ante errores */
+    private void run() {
+        long backoff = 1_000;
+        while (running) {
+            try {
+                consume();
+                backoff = 1_000;
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("El resume token del change stream ya no está en el oplog; se retoma desde el presente");
+                    resumeToken = null;
+                    continue;
+                }
+                backoff = pause(backoff, e);
+            } catch (RuntimeException e) {
+                backoff = pause(backoff, e);
+            }
+        }
+    }
+
+    private void consume() {
+        String collection = mongoTemplate.getCollectionName(User.class);
+        ChangeStreamIterable<Document> changes = mongoTemplate.getCollection(collection)
+                .watch(List.of(Aggregates.match(Filters.in("operationType",
+                        List.of("insert", "update", "replace", "delete")))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            changes = changes.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changes.cursor()) {
+            log.info("Escuchando cambios de la colección {}{}", collection,
+                    resumeToken != null ? " desde el último resume token" : "");
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    publish(change);
+                }
+                // También avanza sin cambios (post-batch token), para no releer el oplog al reiniciar
+                BsonDocument token = cursor.getResumeToken();
+                if (token != null) {
+                    resumeToken = token;
+                }
+                flushResumeToken(false);
+            }
+        }
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        String sub = sub(change.getDocumentKey());
+        if (sub == null) {
+            return;
+        }
+        if (change.getOperationType() == OperationType.DELETE) {
+            eventPublisher.publishEvent(UserChangedEvent.delete(sub));
+            return;
+        }
+        Document document = change.getFullDocument();
+        if (document == null) {
+            // Se borró antes de poder leer su versión actual; llegará el delete
+            return;
+        }
+        User user = mongoTemplate.getConverter().read(User.class, document);
+        eventPublisher.publishEvent(UserChangedEvent.upsert(user));
+    }
+
+    private static String sub(BsonDocument documentKey) {
+        BsonValue id = documentKey == null ? null : documentKey.get("_id");
+        return id instanceof BsonString value ? value.getValue() : null;
+    }
+
+    private long pause(long backoff, RuntimeException e) {
+        if (!running) {
+            return backoff;
+        }
+        log.warn("Error en el change stream de usuarios, se reintenta en {} ms: {}", backoff, e.getMessage());
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(backoff * 2, MAX_BACKOFF_MS);
+    }
+
+    private BsonDocument readResumeToken() {
+        try {
+            if (Files.isRegularFile(resumeTokenPath)) {
+                return BsonDocument.parse(Files.readString(resumeTokenPath, StandardCharsets.UTF_8));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo leer el resume token {}: {}", resumeTokenPath, e.getMessage());
+        }
+        return null;
+    }
+
+    /* Guarda el token como mucho una vez cada tokenFlushMs (o siempre si force) */
+    private synchronized void flushResumeToken(boolean force) {
+        long now = System.currentTimeMillis();
+        BsonDocument token = resumeToken;
+        if (token == null || (!force && now - lastFlush < tokenFlushMs)) {
+            return;
+        }
+        lastFlush = now;
+        try {
+            boolean posix = resumeTokenPath.getFileSystem().supportedFileAttributeViews().contains("posix");
+            Path parent = resumeTokenPath.toAbsolutePath().getParent();
+            if (parent != null && !Files.isDirectory(parent)) {
+                if (posix) {
+                    Files.createDirectories(parent, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+                } else {
+                    Files.createDirectories(parent);
+                }
+            }
+            Path tmp = resumeTokenPath.resolveSibling(resumeTokenPath.getFileName() + ".tmp");
+            // El temporal nace con permisos solo para el dueño y el movimiento atómico los conserva
+            Files.deleteIfExists(tmp);
+            if (posix) {
+                Files.createFile(tmp, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+            }
+            Files.writeString(tmp, token.toJson(), StandardCharsets.UTF_8);
+            Files.move(tmp, resumeTokenPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el resume token {}: {}", resumeTokenPath, e.getMessage());
+        }
+    }
+}
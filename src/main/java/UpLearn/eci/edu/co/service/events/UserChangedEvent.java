@@ -0,0 +1,31 @@
+package UpLearn.eci.edu.co.service.events;
+
+import UpLearn.eci.edu.co.model.User;
+
+/**
+ * Evento publicado cada vez que un usuario se guarda o se elimina a través de
+ * {@link UpLearn.eci.edu.co.service.interfaces.UserRepository}, o cuando otra réplica
+ * cambia un usuario ({@link UserChangeStreamPublisher}).
+ * Las estructuras en memoria derivadas del catálogo de tutores lo escuchan para
+ * actualizarse de forma incremental.
+ *
+ * @param type tipo de cambio
+ * @param sub  sub del usuario afectado
+ * @param user documento guardado (null cuando el usuario fue eliminado)
+ */
+public record UserChangedEvent(Type type, String sub, User user) {
+
+    public enum Type { UPSERT, DELETE }
+
+    public static UserChangedEvent upsert(User user) {
+        return new UserChangedEvent(Type.UPSERT, user.getSub(), user);
+    }
+
+    public static UserChangedEvent delete(String sub) {
+        return new UserChangedEvent(Type.DELETE, sub, null);
+    }
+
+    public boolean isDelete() {
+        return type == Type.DELETE;
+    }
+}
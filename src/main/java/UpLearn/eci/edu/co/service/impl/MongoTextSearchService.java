@@ -0,0 +1,484 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.stereotype.Service;
+
+import UpLearn.eci.edu.co.config.UserServiceException;
+import UpLearn.eci.edu.co.dto.SearchFacetsDTO;
+import UpLearn.eci.edu.co.dto.SuggestionDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.impl.search.PriceCursor;
+import UpLearn.eci.edu.co.service.impl.search.SearchCursor;
+import UpLearn.eci.edu.co.service.impl.search.SearchHit;
+import UpLearn.eci.edu.co.service.impl.search.SuggestionIndex;
+import UpLearn.eci.edu.co.service.impl.search.TopKCollector;
+import UpLearn.eci.edu.co.service.impl.search.TutorFacetIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorPriceIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorSummaries;
+import UpLearn.eci.edu.co.service.interfaces.SearchService;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Implementación del servicio de búsqueda que delega en MongoDB.
+ * <p>
+ * Usa un índice de texto compuesto sobre {@code name}, {@code bio} y
+ * {@code specializations.name} con pesos 3/2/5, los mismos pesos por token que el puntaje
+ * aditivo en memoria (en Mongo cada término adicional coincidente ya suma puntaje). A
+ * ese textScore se le suman en la misma agregación los bonos por frase completa 6/4/8
+ * (nombre, bio y especializaciones) sobre los campos de búsqueda normalizados.
+ * <p>
+ * El orden (puntaje, nombre, sub) y el cursor search-after se resuelven en la consulta,
+ * así que cualquier coincidencia es alcanzable paginando y de Mongo solo se leen
+ * k+1 documentos por página. Nada del catálogo se carga en memoria: la versión para
+ * ETag y las sugerencias también salen de Mongo. Se activa con
+ * {@code search.backend=mongo-text}.
+ */
+@Service
+@ConditionalOnProperty(name = "search.backend", havingValue = "mongo-text")
+public class MongoTextSearchService implements SearchService {
+
+    private static final String TEXT_INDEX_NAME = "tutor_text_search";
+    private static final String PRICE_INDEX_NAME = "tutor_price";
+    private static final String VERSION_INDEX_NAME = "tutor_version";
+    /* Campos calculados en la agregación de búsqueda */
+    private static final String SCORE_FIELD = "searchScore";
+    private static final String SORT_NAME_FIELD = "sortName";
+    /* Bonos por frase completa, como en el puntaje aditivo en memoria */
+    private static final int NAME_PHRASE_BONUS = 6;
+    private static final int BIO_PHRASE_BONUS = 4;
+    private static final int SPECIALIZATIONS_PHRASE_BONUS = 8;
+    private static final int TOP_TUTORS_LIMIT = 10;
+    /* Rango por defecto del $bucket: tutores sin tarifa o fuera de los límites (no se publica) */
+    private static final String UNPRICED_BUCKET = "none";
+
+    private final MongoTemplate mongoTemplate;
+    private final int suggestCandidates;
+
+    public MongoTextSearchService(MongoTemplate mongoTemplate,
+                                  @Value("${search.mongo-text.suggest-candidates:500}") int suggestCandidates) {
+        this.mongoTemplate = mongoTemplate;
+        this.suggestCandidates = suggestCandidates;
+    }
+
+    /**
+     * Crea (si no existen) el índice de texto ponderado, el índice compuesto
+     * (role, tokensPerHour, _id) que resuelve el listado por tarifa sin ordenar en memoria
+     * y el (role, lastModified) que cubre el cálculo de la versión del catálogo
+     */
+    @PostConstruct
+    public void ensureTextIndex() {
+        TextIndexDefinition index = new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .named(TEXT_INDEX_NAME)
+                .onField("name", 3F)
+                .onField("bio", 2F)
+                .onField("specializations.name", 5F)
+                .withDefaultLanguage("spanish")
+                .build();
+        mongoTemplate.indexOps(User.class).ensureIndex(index);
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index()
+                .named(PRICE_INDEX_NAME)
+                .on("role", Sort.Direction.ASC)
+                .on("tokensPerHour", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC));
+        mongoTemplate.indexOps(User.class).ensureIndex(new Index()
+                .named(VERSION_INDEX_NAME)
+                .on("role", Sort.Direction.ASC)
+                .on("lastModified", Sort.Direction.ASC));
+    }
+
+    /**
+     * Búsqueda de tutores con $text: puntaje = textScore + bonos de frase, orden y cursor
+     * aplicados en la agregación; las facetas salen de un $facet
+     */
+    @Override
+    public TutorSearchPageDTO searchTutors(String query, Integer size, String after, TutorSearchFilterDTO filter)
+            throws UserServiceException {
+        final int pageSize = TopKCollector.resolvePageSize(size);
+        final SearchCursor cursor = (after == null || after.isBlank()) ? null : SearchCursor.decode(after);
+        try {
+            String text = query == null ? "" : query.trim();
+            List<Criteria> filters = filterCriteria(filter);
+            if (text.isEmpty()) {
+                TutorSearchPageDTO page = listTutorsByName(pageSize, cursor, filters);
+                page.setFacets(facets(null, filters));
+                return page;
+            }
+
+            TextCriteria textCriteria = TextCriteria.forDefaultLanguage().matching(text);
+            List<AggregationOperation> ops = new ArrayList<>();
+            ops.add(Aggregation.match(textCriteria)); // $text debe ir en la primera etapa
+            ops.add(Aggregation.match(new Criteria().andOperator(filters)));
+            ops.add(rankingFields(SearchTextNormalizer.normalize(text)));
+            if (cursor != null) {
+                ops.add(Aggregation.match(afterCursor(cursor)));
+            }
+            // Mismo orden determinista que el backend en memoria (SearchHit.RANKING)
+            ops.add(Aggregation.sort(Sort.by(Sort.Order.desc(SCORE_FIELD), Sort.Order.asc(SORT_NAME_FIELD),
+                    Sort.Order.asc("_id"))));
+            ops.add(Aggregation.limit(pageSize + 1));
+            List<String> fields = new ArrayList<>(UserMongoRepository.TUTOR_SUMMARY_FIELDS);
+            fields.add(SCORE_FIELD);
+            ops.add(Aggregation.project(fields.toArray(String[]::new)));
+            List<ScoredUser> found = mongoTemplate.aggregate(Aggregation.newAggregation(ops),
+                    mongoTemplate.getCollectionName(User.class), ScoredUser.class).getMappedResults();
+
+            // El cursor ya se aplicó en la consulta; aquí solo se arma la página
+            TopKCollector best = new TopKCollector(pageSize, null);
+            for (ScoredUser u : found) {
+                best.offer(new SearchHit(u, u.getSearchScore() == null ? 0 : u.getSearchScore()));
+            }
+            TutorSearchPageDTO page = best.toPage();
+            page.setFacets(facets(textCriteria, filters));
+            return page;
+        } catch (Exception e) {
+            throw new UserServiceException("Error en búsqueda de tutores: " + e.getMessage());
+        }
+    }
+
+    /* Puntaje (textScore + bonos por frase en los campos normalizados) y nombre de orden */
+    private static AggregationOperation rankingFields(String phrase) {
+        Document bonus = new Document("$add", List.of(
+                phraseBonus("$searchFields.name", phrase, NAME_PHRASE_BONUS),
+                phraseBonus("$searchFields.bio", phrase, BIO_PHRASE_BONUS),
+                phraseBonus("$searchFields.specializationsText", phrase, SPECIALIZATIONS_PHRASE_BONUS)));
+        Document fields = new Document(SCORE_FIELD,
+                new Document("$add", List.of(new Document("$meta", "textScore"), bonus)))
+                .append(SORT_NAME_FIELD, new Document("$ifNull", List.of("$name", "")));
+        return context -> new Document("$addFields", fields);
+    }
+
+    /* bonus si el campo contiene la frase, 0 si no */
+    private static Document phraseBonus(String field, String phrase, int bonus) {
+        Document position = new Document("$indexOfCP", List.of(
+                new Document("$ifNull", List.of(field, "")), new Document("$literal", phrase)));
+        return new Document("$cond", List.of(new Document("$gte", List.of(position, 0)), bonus, 0));
+    }
+
+    /* Hits estrictamente después del cursor en el orden (puntaje desc, nombre, sub) */
+    private static Criteria afterCursor(SearchCursor cursor) {
+        return new Criteria().orOperator(
+                Criteria.where(SCORE_FIELD).lt(cursor.score()),
+                Criteria.where(SCORE_FIELD).is(cursor.score()).and(SORT_NAME_FIELD).gt(cursor.name()),
+                Criteria.where(SCORE_FIELD).is(cursor.score()).and(SORT_NAME_FIELD).is(cursor.name())
+                        .and("_id").gt(cursor.sub()));
+    }
+
+    /* Sin consulta: tutores por nombre con paginación por clave (name, _id) */
+    private TutorSearchPageDTO listTutorsByName(int pageSize, SearchCursor cursor, List<Criteria> filters) {
+        List<Criteria> criteria = new ArrayList<>(filters);
+        if (cursor != null) {
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("name").gt(cursor.name()),
+                    Criteria.where("name").is(cursor.name()).and("_id").gt(cursor.sub())));
+        }
+        Query query = Query.query(new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Order.asc("name"), Sort.Order.asc("_id")))
+                .limit(pageSize + 1);
+        includeSummaryFields(query);
+        TopKCollector page = new TopKCollector(pageSize, null);
+        for (User u : mongoTemplate.find(query, User.class)) {
+            page.offer(new SearchHit(u, 0));
+        }
+        return page.toPage();
+    }
+
+    /** Tutores por tarifa con paginación por clave (tokensPerHour, _id) sobre el índice compuesto */
+    @Override
+    public TutorSearchPageDTO browseTutorsByPrice(Integer minTokens, Integer maxTokens, boolean descending,
+                                                  Integer size, String after) throws UserServiceException {
+        int pageSize = TopKCollector.resolvePageSize(size);
+        PriceCursor cursor = PriceCursor.decode(after, minTokens, maxTokens);
+        try {
+            List<Criteria> criteria = new ArrayList<>();
+            criteria.add(Criteria.where("role").is(UserMongoRepository.ROLE_TUTOR));
+            Criteria price = Criteria.where("tokensPerHour").ne(null);
+            if (minTokens != null) {
+                price = price.gte(minTokens);
+            }
+            if (maxTokens != null) {
+                price = price.lte(maxTokens);
+            }
+            criteria.add(price);
+            if (cursor != null) {
+                criteria.add(descending
+                        ? new Criteria().orOperator(
+                                Criteria.where("tokensPerHour").lt(cursor.tokensPerHour()),
+                                Criteria.where("tokensPerHour").is(cursor.tokensPerHour()).and("_id").lt(cursor.sub()))
+                        : new Criteria().orOperator(
+                                Criteria.where("tokensPerHour").gt(cursor.tokensPerHour()),
+                                Criteria.where("tokensPerHour").is(cursor.tokensPerHour()).and("_id").gt(cursor.sub())));
+            }
+            Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            Query query = Query.query(new Criteria().andOperator(criteria))
+                    .with(Sort.by(new Sort.Order(direction, "tokensPerHour"), new Sort.Order(direction, "_id")))
+                    .limit(pageSize + 1);
+            includeSummaryFields(query);
+            return TutorPriceIndex.toPage(mongoTemplate.find(query, User.class), pageSize);
+        } catch (Exception e) {
+            throw new UserServiceException("Error listando tutores por tarifa: " + e.getMessage());
+        }
+    }
+
+    /* Rol TUTOR más los filtros pedidos, como condiciones para un $and */
+    private static List<Criteria> filterCriteria(TutorSearchFilterDTO filter) {
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("role").is(UserMongoRepository.ROLE_TUTOR));
+        if (filter == null || !filter.hasCriteria()) {
+            return criteria;
+        }
+        String spec = filter.getSpecialization() == null ? "" : filter.getSpecialization().trim();
+        if (!spec.isEmpty()) {
+            criteria.add(Criteria.where("searchFields.specializations").is(SearchTextNormalizer.normalize(spec)));
+        }
+        if (filter.getVerified() != null) {
+            criteria.add(Criteria.where("isVerified").is(filter.getVerified()));
+        }
+        if (filter.getVerifiedSpecialization() != null) {
+            boolean wanted = filter.getVerifiedSpecialization();
+            if (!spec.isEmpty()) {
+                Criteria verifiedSpec = Criteria.where("name").regex("^" + Pattern.quote(spec) + "$", "i")
+                        .and("verified").is(true);
+                criteria.add(wanted
+                        ? Criteria.where("specializations").elemMatch(verifiedSpec)
+                        : Criteria.where("specializations").not().elemMatch(verifiedSpec));
+            } else {
+                criteria.add(wanted
+                        ? Criteria.where("specializations.verified").is(true)
+                        : Criteria.where("specializations.verified").ne(true));
+            }
+        }
+        if (filter.getMinTokensPerHour() != null || filter.getMaxTokensPerHour() != null) {
+            Criteria price = Criteria.where("tokensPerHour").ne(null);
+            if (filter.getMinTokensPerHour() != null) {
+                price = price.gte(filter.getMinTokensPerHour());
+            }
+            if (filter.getMaxTokensPerHour() != null) {
+                price = price.lte(filter.getMaxTokensPerHour());
+            }
+            criteria.add(price);
+        }
+        return criteria;
+    }
+
+    /* Conteos por especialización y por rango de tarifa sobre todos los resultados */
+    private SearchFacetsDTO facets(TextCriteria text, List<Criteria> filters) {
+        List<AggregationOperation> ops = new ArrayList<>();
+        if (text != null) {
+            ops.add(Aggregation.match(text)); // $text debe ir en la primera etapa
+        }
+        ops.add(Aggregation.match(new Criteria().andOperator(filters)));
+
+        Object[] bounds = new Object[TutorFacetIndex.PRICE_BUCKET_BOUNDS.length + 1];
+        for (int i = 0; i < TutorFacetIndex.PRICE_BUCKET_BOUNDS.length; i++) {
+            bounds[i] = TutorFacetIndex.PRICE_BUCKET_BOUNDS[i];
+        }
+        bounds[bounds.length - 1] = Integer.MAX_VALUE;
+        // Como el backend en memoria: se agrupa por el nombre normalizado (el mismo valor que
+        // usa el filtro), cada tutor cuenta una vez por especialización y la etiqueta es uno de
+        // los nombres originales (searchFields.specializations sigue el orden de specializations)
+        ops.add(Aggregation.facet(
+                        Aggregation.unwind("searchFields.specializations", "specIndex"),
+                        Aggregation.project()
+                                .and("_id").as("tutor")
+                                .and("searchFields.specializations").as("key")
+                                .and(ConditionalOperators.ifNull(ArrayOperators.ArrayElemAt.arrayOf("specializations.name")
+                                                .elementAt("specIndex"))
+                                        .thenValueOf("searchFields.specializations")).as("display"),
+                        Aggregation.group("tutor", "key").first("display").as("display"),
+                        Aggregation.group("key").count().as("count").first("display").as("display"),
+                        Aggregation.sort(Sort.by(Sort.Order.desc("count"), Sort.Order.asc("display"))))
+                .as("specializations")
+                .and(Aggregation.bucket("tokensPerHour")
+                        .withBoundaries(bounds)
+                        .withDefaultBucket(UNPRICED_BUCKET)
+                        .andOutputCount().as("count"))
+                .as("tokensPerHour"));
+
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(ops),
+                mongoTemplate.getCollectionName(User.class), Document.class).getUniqueMappedResult();
+
+        Map<String, Integer> bySpecialization = new LinkedHashMap<>();
+        Map<String, Integer> byBucket = new LinkedHashMap<>();
+        for (int i = 0; i < TutorFacetIndex.PRICE_BUCKET_BOUNDS.length; i++) {
+            byBucket.put(TutorFacetIndex.bucketLabel(i), 0);
+        }
+        if (result != null) {
+            for (Document d : result.getList("specializations", Document.class, List.of())) {
+                Object label = d.get("display") != null ? d.get("display") : d.get("_id");
+                if (label != null) {
+                    bySpecialization.merge(label.toString().trim(), ((Number) d.get("count")).intValue(), Integer::sum);
+                }
+            }
+            for (Document d : result.getList("tokensPerHour", Document.class, List.of())) {
+                if (d.get("_id") instanceof Number lower) {
+                    int i = Arrays.binarySearch(TutorFacetIndex.PRICE_BUCKET_BOUNDS, lower.intValue());
+                    if (i >= 0) {
+                        byBucket.put(TutorFacetIndex.bucketLabel(i), ((Number) d.get("count")).intValue());
+                    }
+                }
+            }
+        }
+        return new SearchFacetsDTO(bySpecialization, byBucket);
+    }
+
+    /* Limita la lectura a los campos del resumen público (el _id se incluye siempre) */
+    private static void includeSummaryFields(Query query) {
+        for (String field : UserMongoRepository.TUTOR_SUMMARY_FIELDS) {
+            query.fields().include(field);
+        }
+    }
+
+    /** Obtiene los 10 mejores tutores con una agregación (credenciales y luego especializaciones) */
+    @Override
+    public List<TutorSummaryDTO> getTopTutors() throws UserServiceException {
+        try {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("role").is(UserMongoRepository.ROLE_TUTOR)),
+                    Aggregation.addFields()
+                            .addFieldWithValue("credentialsCount", ArrayOperators.Size.lengthOfArray(
+                                    ConditionalOperators.ifNull("credentials").then(List.of())))
+                            .addFieldWithValue("specializationsCount", ArrayOperators.Size.lengthOfArray(
+                                    ConditionalOperators.ifNull("specializations").then(List.of())))
+                            .build(),
+                    Aggregation.sort(Sort.by(
+                            Sort.Order.desc("credentialsCount"),
+                            Sort.Order.desc("specializationsCount"),
+                            Sort.Order.asc("_id"))),
+                    Aggregation.limit(TOP_TUTORS_LIMIT),
+                    Aggregation.project(UserMongoRepository.TUTOR_SUMMARY_FIELDS.toArray(String[]::new)));
+            return TutorSummaries.of(mongoTemplate.aggregate(aggregation, User.class, User.class).getMappedResults());
+        } catch (Exception e) {
+            throw new UserServiceException("Error obteniendo los mejores tutores: " + e.getMessage());
+        }
+    }
+
+    /** Usuario leído junto con el puntaje calculado en la agregación */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    static class ScoredUser extends User {
+        private Double searchScore;
+    }
+
+    /**
+     * Sugerencias de autocompletado: nombres de tutores y especializaciones cuyo texto
+     * normalizado (o una de sus palabras) empieza por el prefijo. Los pesos se cuentan
+     * sobre como mucho {@code search.mongo-text.suggest-candidates} tutores coincidentes.
+     */
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, Integer limit) throws UserServiceException {
+        int max = (limit == null || limit <= 0)
+                ? SuggestionIndex.DEFAULT_LIMIT : Math.min(limit, SuggestionIndex.MAX_LIMIT);
+        String normalized = SearchTextNormalizer.normalize(prefix == null ? "" : prefix.trim());
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        try {
+            String wordPrefix = "(^| )" + Pattern.quote(normalized);
+            Query query = Query.query(new Criteria().andOperator(
+                            Criteria.where("role").is(UserMongoRepository.ROLE_TUTOR),
+                            new Criteria().orOperator(
+                                    Criteria.where("searchFields.name").regex(wordPrefix),
+                                    Criteria.where("searchFields.specializations").regex(wordPrefix))))
+                    .limit(suggestCandidates);
+            query.fields().include("name").include("specializations").include("searchFields");
+
+            // tipo + texto normalizado -> sugerencia (texto a mostrar y tutores)
+            Map<String, SuggestionDTO> terms = new HashMap<>();
+            for (User tutor : mongoTemplate.find(query, User.class)) {
+                // Cada tutor suma una vez por término aunque repita especialización
+                Set<String> counted = new HashSet<>();
+                SearchFields fields = SearchFields.ensure(tutor);
+                countTerm(terms, counted, SuggestionIndex.TYPE_TUTOR, fields.getName(), tutor.getName(), normalized);
+                if (tutor.getSpecializations() != null) {
+                    for (Specialization spec : tutor.getSpecializations()) {
+                        if (spec != null && spec.getName() != null) {
+                            countTerm(terms, counted, SuggestionIndex.TYPE_SPECIALIZATION,
+                                    SearchTextNormalizer.normalize(spec.getName()), spec.getName(), normalized);
+                        }
+                    }
+                }
+            }
+            return terms.values().stream()
+                    .sorted(Comparator.comparingInt(SuggestionDTO::getTutors).reversed()
+                            .thenComparing(SuggestionDTO::getText))
+                    .limit(max)
+                    .toList();
+        } catch (Exception e) {
+            throw new UserServiceException("Error obteniendo sugerencias: " + e.getMessage());
+        }
+    }
+
+    /* Suma un tutor al término si su texto normalizado o una de sus palabras empieza por el prefijo */
+    private static void countTerm(Map<String, SuggestionDTO> terms, Set<String> counted, String type,
+                                  String normalized, String display, String prefix) {
+        if (normalized == null || display == null
+                || !(normalized.startsWith(prefix) || normalized.contains(" " + prefix))) {
+            return;
+        }
+        String key = type + ':' + normalized;
+        if (!counted.add(key)) {
+            return;
+        }
+        SuggestionDTO term = terms.computeIfAbsent(key, k -> new SuggestionDTO(display.trim(), type, 0));
+        term.setTutors(term.getTutors() + 1);
+    }
+
+    /**
+     * Versión del catálogo calculada en Mongo: {@code lastModified} máximo de los tutores
+     * y su cantidad (cubierta por el índice (role, lastModified)). Cambia con cada escritura
+     * de un tutor y cuando un tutor se borra o deja de serlo.
+     */
+    @Override
+    public String catalogueVersion() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("role").is(UserMongoRepository.ROLE_TUTOR)),
+                Aggregation.group().max("lastModified").as("lastModified").count().as("tutors"));
+        Document result = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(User.class),
+                Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return "0-0";
+        }
+        Object lastModified = result.get("lastModified");
+        long max = lastModified instanceof Number n ? n.longValue() : 0L;
+        return Long.toHexString(max) + '-' + Integer.toHexString(((Number) result.get("tutors")).intValue());
+    }
+
+    /** Este backend no mantiene caché propia; los resultados los calcula Mongo */
+    @Override
+    public Map<String, Object> getSearchStats() {
+        return Map.of("backend", "mongo-text");
+    }
+}
@@ -0,0 +1,94 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import UpLearn.eci.edu.co.config.UserServiceException;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.interfaces.UserRepository;
+
+/**
+ * Usuarios ya resueltos en la petición HTTP actual.
+ * <p>
+ * Cada {@code sub} se busca en MongoDB como mucho una vez por petición: el resultado
+ * (también la ausencia) queda en un atributo de la petición y lo reutilizan todos los
+ * métodos del servicio que la atienden. Guardar o borrar a través de este contexto
+ * actualiza lo recordado, así que una lectura posterior en la misma petición ve la
+ * escritura. El {@link User} es el mismo objeto para todos: quien lo modifica debe
+ * guardarlo. Fuera de una petición (tareas programadas, hilos propios) no se
+ * recuerda nada y cada llamada va al repositorio.
+ */
+@Component
+public class RequestUserContext {
+
+    private static final String USERS_ATTRIBUTE = RequestUserContext.class.getName() + ".users";
+
+    private final UserRepository userRepository;
+
+    public RequestUserContext(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Usuario por sub
+     * @return el usuario, o null si no existe
+     */
+    public User find(String sub) throws UserServiceException {
+        Map<String, Optional<User>> users = users();
+        if (users == null) {
+            return userRepository.findBySub(sub);
+        }
+        Optional<User> resolved = users.get(sub);
+        if (resolved == null) {
+            resolved = Optional.ofNullable(userRepository.findBySub(sub));
+            users.put(sub, resolved);
+        }
+        return resolved.orElse(null);
+    }
+
+    public boolean exists(String sub) throws UserServiceException {
+        return find(sub) != null;
+    }
+
+    /** Guarda el usuario y lo deja como el resuelto para su sub */
+    public User save(User user) {
+        User saved = userRepository.save(user);
+        Map<String, Optional<User>> users = users();
+        if (users != null) {
+            users.put(saved.getSub(), Optional.of(saved));
+        }
+        return saved;
+    }
+
+    /**
+     * Borra el usuario
+     * @throws UserServiceException si no existe
+     */
+    public void delete(String sub) throws UserServiceException {
+        userRepository.deleteBySub(sub);
+        Map<String, Optional<User>> users = users();
+        if (users != null) {
+            users.put(sub, Optional.empty());
+        }
+    }
+
+    /* Mapa sub -> usuario de la petición actual, o null fuera de una petición */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Optional<User>> users() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object users = attributes.getAttribute(USERS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (users == null) {
+            users = new HashMap<String, Optional<User>>();
+            attributes.setAttribute(USERS_ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, Optional<User>>) users;
+    }
+}
@@ -1,157 +1,239 @@
 package UpLearn.eci.edu.co.service.impl;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
 import UpLearn.eci.edu.co.config.UserServiceException;
-import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.dto.SuggestionDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
 import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
 import UpLearn.eci.edu.co.service.interfaces.SearchService;
-import UpLearn.eci.edu.co.service.interfaces.UserRepository;
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+import UpLearn.eci.edu.co.service.impl.search.ParallelScorer;
+import UpLearn.eci.edu.co.service.impl.search.PriceCursor;
+import UpLearn.eci.edu.co.service.impl.search.QueryTokenizer;
+import UpLearn.eci.edu.co.service.impl.search.SearchCursor;
+import UpLearn.eci.edu.co.service.impl.search.SearchHit;
+import UpLearn.eci.edu.co.service.impl.search.SearchResultCache;
+import UpLearn.eci.edu.co.service.impl.search.SuggestionIndex;
+import UpLearn.eci.edu.co.service.impl.search.TopKCollector;
+import UpLearn.eci.edu.co.service.impl.search.TrigramIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.TutorFacetIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorLeaderboard;
+import UpLearn.eci.edu.co.service.impl.search.TutorPriceIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorSearchIndex;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
-/** Implementación del servicio de búsqueda */
+/** Implementación del servicio de búsqueda (puntuación en memoria sobre el índice invertido, con el {@link TutorScorer} configurado) */
 @Service
+@ConditionalOnProperty(name = "search.backend", havingValue = "memory", matchIfMissing = true)
 public class SearchServiceImpl implements SearchService {
 
-    private final UserRepository userRepository;
-
-    public SearchServiceImpl(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    private final TutorSearchIndex tutorSearchIndex;
+    private final TutorLeaderboard tutorLeaderboard;
+    private final TrigramIndex trigramIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final SearchResultCache searchResultCache;
+    private final TutorFacetIndex tutorFacetIndex;
+    private final ParallelScorer parallelScorer;
+    private final TutorScorer tutorScorer;
+    private final QueryTokenizer queryTokenizer;
+    private final TutorPriceIndex tutorPriceIndex;
+
+    public SearchServiceImpl(TutorSearchIndex tutorSearchIndex, TutorLeaderboard tutorLeaderboard,
+                             TrigramIndex trigramIndex, SuggestionIndex suggestionIndex,
+                             SearchResultCache searchResultCache, TutorFacetIndex tutorFacetIndex,
+                             ParallelScorer parallelScorer, TutorScorer tutorScorer,
+                             QueryTokenizer queryTokenizer, TutorPriceIndex tutorPriceIndex) {
+        this.tutorSearchIndex = tutorSearchIndex;
+        this.tutorLeaderboard = tutorLeaderboard;
+        this.trigramIndex = trigramIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.searchResultCache = searchResultCache;
+        this.tutorFacetIndex = tutorFacetIndex;
+        this.parallelScorer = parallelScorer;
+        this.tutorScorer = tutorScorer;
+        this.queryTokenizer = queryTokenizer;
+        this.tutorPriceIndex = tutorPriceIndex;
     }
 
-    /* Palabras vacías */
-    private static final Set<String> STOPWORDS = Set.of(
-            "con", "de", "del", "la", "el", "los", "las", "y", "o", "para", "por", "una",
-            "unos", "unas", "al", "en", "que", "se", "curso");
-
-    /** Búsqueda de tutores */
+    /** Búsqueda de tutores paginada con cursor (search-after), filtros y facetas */
     @Override
-    public List<User> searchTutors(String query) throws UserServiceException {
+    public TutorSearchPageDTO searchTutors(String query, Integer size, String after, TutorSearchFilterDTO filter)
+            throws UserServiceException {
+        final int pageSize = TopKCollector.resolvePageSize(size);
+        final SearchCursor cursor = (after == null || after.isBlank()) ? null : SearchCursor.decode(after);
         try {
-            final String phrase = (query == null ? "" : query).trim().toLowerCase(Locale.ROOT);
-
-            final Set<String> tokens = Arrays.stream(phrase.split("[^\\p{L}\\p{Nd}]+"))
-                    .map(String::trim)
-                    .filter(s -> s.length() >= 3)
-                    .filter(s -> !STOPWORDS.contains(s))
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
-
-            List<User> allTutors = userRepository.findAll().stream()
-                    .filter(u -> u.getRole() != null &&
-                            u.getRole().stream().anyMatch("TUTOR"::equalsIgnoreCase))
-                    .toList();
-
-            if (phrase.isBlank() && tokens.isEmpty()) {
-                return allTutors.stream()
-                        .sorted(Comparator.comparing(
-                                u -> Optional.ofNullable(u.getName()).orElse("")))
-                        .toList();
-            }
+            final String phrase = SearchTextNormalizer.normalize(query == null ? "" : query.trim());
 
-            return allTutors.stream()
-                    .map(u -> new AbstractMap.SimpleEntry<>(u, scoreTutor(u, phrase, tokens)))
-                    .filter(e -> e.getValue() > 0)
-                    .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                    .map(Map.Entry::getKey)
-                    .toList();
+            final Set<String> tokens = queryTokenizer.tokenize(phrase);
 
+            SearchResultCache.Key cacheKey = SearchResultCache.Key.of(phrase, tokens, filter, pageSize, after);
+            TutorSearchPageDTO cached = searchResultCache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+            final long generation = searchResultCache.generation();
+
+            // Tutores que cumplen los filtros (null = sin filtros)
+            final BitSet allowed = tutorFacetIndex.filter(filter);
+
+            // Sin consulta todos los tutores empatan con puntaje 0 y quedan ordenados por nombre
+            final boolean blank = phrase.isBlank() && tokens.isEmpty();
+            Collection<User> candidates;
+            if (blank) {
+                candidates = allowed == null ? tutorSearchIndex.allTutors() : tutorsOf(allowed);
+            } else {
+                candidates = tutorSearchIndex.candidates(phrase, tokens);
+            }
+
+            // Selección top-k acotada en lugar de ordenar todas las coincidencias; con muchos
+            // candidatos se reparte en particiones que se puntúan en paralelo
+            // Con cursor se continúa con las estadísticas del corpus de la primera página
+            final TutorScorer.PreparedQuery scorer = blank ? null
+                    : cursor != null ? tutorScorer.resume(phrase, tokens, cursor.generation())
+                    : tutorScorer.prepare(phrase, tokens);
+            ParallelScorer.Shard scored = parallelScorer.score(candidates, pageSize, cursor, (u, shard) -> {
+                int ord = tutorFacetIndex.ordinal(u.getSub());
+                if (!isAllowed(allowed, ord)) {
+                    return;
+                }
+                double score = blank ? 0 : scorer.score(u);
+                if (blank || score > 0) {
+                    shard.add(new SearchHit(u, score), ord);
+                }
+            });
+            BitSet matched = scored.matched();
+
+            // Sin coincidencias exactas se intenta una búsqueda tolerante a errores de escritura.
+            // La decisión no depende del cursor, así que todas las páginas usan la misma etapa.
+            final boolean fuzzy = scored.count() == 0 && !tokens.isEmpty();
+            final long corpusGeneration = scorer == null ? SearchCursor.NO_GENERATION : scorer.generation();
+            TutorSearchPageDTO page = fuzzy
+                    ? fuzzySearch(tokens, pageSize, cursor, allowed, matched)
+                    : scored.best().toPage(corpusGeneration);
+            page.setFacets(tutorFacetIndex.facets(matched));
+            searchResultCache.put(cacheKey, page, matched, fuzzy, corpusGeneration, generation);
+            return page;
         } catch (Exception e) {
             throw new UserServiceException("Error en búsqueda de tutores: " + e.getMessage());
         }
     }
 
-    /* Normaliza una cadena para búsqueda */
-    private String safe(String s) {
-        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    /* Tutores indexados de los ordinales marcados */
+    private List<User> tutorsOf(BitSet ords) {
+        List<User> result = new ArrayList<>(ords.cardinality());
+        for (String sub : tutorFacetIndex.subs(ords)) {
+            User tutor = tutorSearchIndex.get(sub);
+            if (tutor != null) {
+                result.add(tutor);
+            }
+        }
+        return result;
     }
 
-    /* Puntúa un tutor según frase y tokens */
-    private int scoreTutor(User u, String phrase, Set<String> tokens) {
-        String name = safe(u.getName());
-        String bio = safe(u.getBio());
-        
-        // Extraer nombres de especializaciones del objeto Specialization
-        List<Specialization> specializationObjs = (u.getSpecializations() == null) ? List.of() : u.getSpecializations();
-        List<String> specsList = specializationObjs.stream()
-                .map(Specialization::getName)
-                .filter(Objects::nonNull)
-                .toList();
-        String specs = safe(String.join(" ", specsList));
-
-        return scorePhraseBonus(phrase, name, bio, specs) + scoreTokenBonus(tokens, name, bio, specsList);
+    /* Un tutor sin ordinal aún (índice de facetas en actualización) solo pasa si no hay filtros */
+    private static boolean isAllowed(BitSet allowed, int ord) {
+        return allowed == null || (ord >= 0 && allowed.get(ord));
     }
 
-    /* Puntúa bonificación por frase completa */
-    private int scorePhraseBonus(String phrase, String name, String bio, String specs) {
-        if (phrase == null || phrase.isBlank())
-            return 0;
-        int s = 0;
-        if (specs.contains(phrase))
-            s += 8; // prioridad en specializations
-        if (name.contains(phrase))
-            s += 6; // nombre
-        if (bio.contains(phrase))
-            s += 4; // bio
-        return s;
+    /* Etapa difusa: candidatos y similitud salen del índice de trigramas */
+    private TutorSearchPageDTO fuzzySearch(Set<String> tokens, int pageSize, SearchCursor cursor,
+                                           BitSet allowed, BitSet matched) {
+        Map<String, Double> scores = new HashMap<>();
+        for (String token : tokens) {
+            trigramIndex.similar(token, TrigramIndex.DEFAULT_THRESHOLD)
+                    .forEach((sub, score) -> scores.merge(sub, score, Double::sum));
+        }
+        TopKCollector best = new TopKCollector(pageSize, cursor);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            User tutor = tutorSearchIndex.get(entry.getKey());
+            int ord = tutorFacetIndex.ordinal(entry.getKey());
+            if (tutor != null && isAllowed(allowed, ord)) {
+                if (ord >= 0) {
+                    matched.set(ord);
+                }
+                best.offer(new SearchHit(tutor, entry.getValue()));
+            }
+        }
+        return best.toPage();
     }
 
-    /* Puntúa bonificación por tokens individuales */
-    private int scoreTokenBonus(Set<String> tokens, String name, String bio, List<String> specsList) {
-        int s = 0;
-        for (String t : tokens) {
-            if (name.contains(t))
-                s += 3;
-            if (bio.contains(t))
-                s += 2;
-            for (String sp : specsList) {
-                if (safe(sp).contains(t))
-                    s += 5;
-            }
+    /**
+     * Invalida las páginas cacheadas afectadas por el cambio de un tutor. Se ejecuta
+     * después de que los índices en memoria procesaron el mismo evento. Si el puntaje
+     * depende de estadísticas del corpus (BM25F) y el cambio las movió (alta, baja o
+     * cambio de términos o largos, ver {@link TutorSearchIndex#upsert}), se descartan
+     * además todas las páginas puntuadas con la generación anterior; un cambio que solo
+     * toca la tarifa o la verificación conserva las páginas ajenas al tutor.
+     */
+    @Order(100)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        User user = event.user();
+        boolean tutor = !event.isDelete() && user != null && user.getRole() != null
+                && user.getRole().stream().anyMatch("TUTOR"::equalsIgnoreCase);
+        int ordinal = tutorFacetIndex.ordinal(event.sub());
+        if (!tutor && ordinal < 0) {
+            return; // No es tutor ni conserva ordinal: ya no aparece en ninguna página cacheada
         }
-        return s;
+        long corpusGeneration = tutorScorer.usesCorpusStats()
+                ? tutorSearchIndex.corpusGeneration() : SearchCursor.NO_GENERATION;
+        searchResultCache.invalidate(ordinal, corpusGeneration,
+                key -> tutor && TutorScorer.matches(user, key.phrase(), key.tokens()));
     }
 
     /** Obtiene los 10 mejores tutores ordenados por credenciales y especializaciones */
     @Override
-    public List<User> getTopTutors() throws UserServiceException {
+    public List<TutorSummaryDTO> getTopTutors() throws UserServiceException {
         try {
-            List<User> allTutors = userRepository.findAll().stream()
-                    .filter(u -> u.getRole() != null &&
-                            u.getRole().stream().anyMatch("TUTOR"::equalsIgnoreCase))
-                    .toList();
-
-            return allTutors.stream()
-                    .sorted((a, b) -> {
-                        // Primero por cantidad de credenciales (descendente)
-                        int credentialsA = Optional.ofNullable(a.getCredentials())
-                                .map(List::size)
-                                .orElse(0);
-                        int credentialsB = Optional.ofNullable(b.getCredentials())
-                                .map(List::size)
-                                .orElse(0);
-                        
-                        int credentialsCompare = Integer.compare(credentialsB, credentialsA);
-                        if (credentialsCompare != 0) {
-                            return credentialsCompare;
-                        }
-                        
-                        // Si tienen las mismas credenciales, ordenar por especializaciones
-                        int specializationsA = Optional.ofNullable(a.getSpecializations())
-                                .map(List::size)
-                                .orElse(0);
-                        int specializationsB = Optional.ofNullable(b.getSpecializations())
-                                .map(List::size)
-                                .orElse(0);
-                        
-                        return Integer.compare(specializationsB, specializationsA);
-                    })
-                    .limit(10)
-                    .toList();
-
+            return tutorLeaderboard.top();
         } catch (Exception e) {
             throw new UserServiceException("Error obteniendo los mejores tutores: " + e.getMessage());
         }
     }
+
+    /** Tutores por tarifa desde el árbol ordenado en memoria */
+    @Override
+    public TutorSearchPageDTO browseTutorsByPrice(Integer minTokens, Integer maxTokens, boolean descending,
+                                                  Integer size, String after) throws UserServiceException {
+        int pageSize = TopKCollector.resolvePageSize(size);
+        PriceCursor cursor = PriceCursor.decode(after, minTokens, maxTokens);
+        try {
+            return tutorPriceIndex.page(minTokens, maxTokens, descending, pageSize, cursor);
+        } catch (Exception e) {
+            throw new UserServiceException("Error listando tutores por tarifa: " + e.getMessage());
+        }
+    }
+
+    /** Sugerencias de autocompletado desde la estructura de prefijos en memoria */
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, Integer limit) throws UserServiceException {
+        int max = (limit == null || limit <= 0)
+                ? SuggestionIndex.DEFAULT_LIMIT : Math.min(limit, SuggestionIndex.MAX_LIMIT);
+        return suggestionIndex.suggest(prefix, max);
+    }
+
+    @Override
+    public String catalogueVersion() {
+        return tutorSearchIndex.catalogueVersion();
+    }
+
+    /** Contadores de la caché de resultados */
+    @Override
+    public Map<String, Object> getSearchStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("backend", "memory");
+        stats.put("tutors", tutorSearchIndex.size());
+        stats.put("facetOrdinals", tutorFacetIndex.ordinalCount());
+        stats.put("cache", searchResultCache.stats());
+        return stats;
+    }
 }
@@ -1,22 +1,31 @@
 package UpLearn.eci.edu.co.service.impl;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import UpLearn.eci.edu.co.service.interfaces.UserRepository;
 import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
 import UpLearn.eci.edu.co.config.UserServiceException;
 import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
 
 @Service
 public class UserRepositoryImpl implements UserRepository {
     private final UserMongoRepository userMongoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserRepositoryImpl(UserMongoRepository userMongoRepository) {
+    public UserRepositoryImpl(UserMongoRepository userMongoRepository, ApplicationEventPublisher eventPublisher) {
         this.userMongoRepository = userMongoRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -24,6 +33,16 @@ public class UserRepositoryImpl implements UserRepository {
         return userMongoRepository.findAll();
     }
 
+    @Override
+    public List<User> findAllTutors() {
+        return userMongoRepository.findAllTutors();
+    }
+
+    @Override
+    public Stream<User> streamAllTutors() {
+        return userMongoRepository.streamAllTutors();
+    }
+
     @Override
     public User findBySub(String sub) {
         return userMongoRepository.findBySub(sub);
@@ -36,12 +55,11 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public void deleteBySub(String sub) throws UserServiceException {
-        User user = findBySub(sub);
-        if (user != null) {
-            userMongoRepository.delete(user);
-        } else {
+        // Un solo viaje: el borrado devuelve cuántos documentos eliminó
+        if (userMongoRepository.deleteBySub(sub) == 0) {
             throw new UserServiceException("Usuario no encontrado con sub: " + sub);
         }
+        eventPublisher.publishEvent(UserChangedEvent.delete(sub));
     }
 
     @Override
@@ -53,6 +71,31 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public User save(User user) {
-        return userMongoRepository.save(user);
+        // Siempre avanza, aunque dos escrituras caigan en el mismo milisegundo (se usa como versión/ETag)
+        long now = System.currentTimeMillis();
+        Long previous = user.getLastModified();
+        user.setLastModified(previous != null && previous >= now ? previous + 1 : now);
+        user.setRole(normalizeRoles(user.getRole()));
+        User saved = userMongoRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.upsert(saved));
+        return saved;
+    }
+
+    /**
+     * Roles en mayúsculas y sin repetir, en el orden recibido. Se guardan así para que
+     * las consultas por rol (índice sobre 'role') no dependan de cómo los escribió el cliente
+     * @return una lista modificable, o null si roles es null
+     */
+    public static List<String> normalizeRoles(List<String> roles) {
+        if (roles == null) {
+            return null;
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String role : roles) {
+            if (role != null && !role.isBlank()) {
+                normalized.add(role.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return new ArrayList<>(normalized);
     }
 }
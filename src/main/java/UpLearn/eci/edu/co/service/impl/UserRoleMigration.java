@@ -0,0 +1,60 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+/**
+ * Migración de arranque que pasa a mayúsculas los roles guardados antes de que
+ * {@link UserRepositoryImpl#save} los normalizara, para que las consultas por
+ * {@code role: 'TUTOR'} los encuentren.
+ * Solo escribe {@code role} y {@code lastModified} ({@code $set}); avanzar la fecha
+ * hace que el índice de búsqueda los recoja al ponerse al día desde su snapshot. Se
+ * ejecuta antes que las demás migraciones y que la carga de los índices.
+ */
+@Component
+public class UserRoleMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(UserRoleMigration.class);
+
+    private final UserMongoRepository userMongoRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public UserRoleMigration(UserMongoRepository userMongoRepository, MongoTemplate mongoTemplate) {
+        this.userMongoRepository = userMongoRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Order(-20)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int[] updated = {0};
+        try (Stream<User> pending = userMongoRepository.streamUsersWithLowerCaseRoles()) {
+            pending.forEach(user -> {
+                mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(user.getSub())),
+                        Update.update("role", UserRepositoryImpl.normalizeRoles(user.getRole()))
+                                .set("lastModified", System.currentTimeMillis()),
+                        User.class);
+                updated[0]++;
+            });
+        } catch (Exception e) {
+            log.error("Error normalizando los roles de los usuarios", e);
+        }
+        if (updated[0] > 0) {
+            log.info("Roles normalizados a mayúsculas para {} usuarios", updated[0]);
+        }
+    }
+}
@@ -20,12 +20,14 @@ import UpLearn.eci.edu.co.dto.ProfileStatusDTO;
 import UpLearn.eci.edu.co.dto.StudentProfileDTO;
 import UpLearn.eci.edu.co.dto.TutorProfileDTO;
 import UpLearn.eci.edu.co.dto.N8nValidationResultDTO;
+import UpLearn.eci.edu.co.model.SearchFields;
 import UpLearn.eci.edu.co.model.Specialization;
 import UpLearn.eci.edu.co.model.User;
 import UpLearn.eci.edu.co.service.interfaces.UserRepository;
 import UpLearn.eci.edu.co.service.interfaces.UserService;
 import UpLearn.eci.edu.co.util.CognitoTokenDecoder;
 import UpLearn.eci.edu.co.util.CognitoTokenDecoder.CognitoUserInfo;
+import UpLearn.eci.edu.co.util.CognitoPrincipal;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -39,6 +41,7 @@ public class UserServiceImpl implements UserService {
     private static final String ROLE_TUTOR = "TUTOR";
     private static final String UPLOADED_KEY = "uploaded";
     private final UserRepository userRepository;
+    private final RequestUserContext userContext;
     private final CognitoTokenDecoder cognitoTokenDecoder;
     private final AzureBlobStorageService azureBlobStorageService;
 
@@ -52,9 +55,11 @@ public class UserServiceImpl implements UserService {
 
     public UserServiceImpl(
             UserRepository userRepository,
+            RequestUserContext userContext,
             CognitoTokenDecoder cognitoTokenDecoder,
             AzureBlobStorageService azureBlobStorageService) {
         this.userRepository = userRepository;
+        this.userContext = userContext;
         this.cognitoTokenDecoder = cognitoTokenDecoder;
         this.azureBlobStorageService = azureBlobStorageService;
     }
@@ -62,23 +67,29 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUserByToken(String token) throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
-            String sub = userInfo.getSub();
-
-            User user = userRepository.findBySub(sub);
-            if (user == null) {
-                throw new UserServiceException("Usuario no encontrado");
-            }
-
-            userRepository.deleteBySub(sub);
+            CognitoUserInfo userInfo = authenticatedUser(token);
+            // Un solo borrado por sub; falla si el usuario no existe
+            userContext.delete(userInfo.getSub());
         } catch (Exception e) {
             throw new UserServiceException("Error al eliminar usuario: " + e.getMessage());
         }
     }
 
+    /**
+     * Usuario autenticado de la petición: el principal que el filtro ya decodificó de la
+     * cabecera Authorization; solo se decodifica el token si no pasó por el filtro
+     */
+    private CognitoUserInfo authenticatedUser(String token) {
+        CognitoPrincipal principal = CognitoPrincipal.current();
+        if (principal != null) {
+            return principal.toUserInfo();
+        }
+        return cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+    }
+
     @Override
     public User getUserBySub(String sub) throws UserServiceException {
-        User user = userRepository.findBySub(sub);
+        User user = userContext.find(sub);
         if (user == null) {
             throw new UserServiceException("Usuario no encontrado con sub: " + sub);
         }
@@ -101,13 +112,13 @@ public class UserServiceImpl implements UserService {
             // Extraer información del usuario desde el token
             CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(cognitoTokenDTO.getToken());
 
-            // Verificar si el usuario ya existe por sub
-            if (userRepository.existsBySub(userInfo.getSub())) {
+            // Verificar si el usuario ya existe por sub (una sola lectura por petición)
+            User existingUser = userContext.find(userInfo.getSub());
+            if (existingUser != null) {
                 // Si existe, actualizar los roles SOLO si se proporcionan
-                User existingUser = userRepository.findBySub(userInfo.getSub());
                 if (cognitoTokenDTO.getRole() != null && !cognitoTokenDTO.getRole().isEmpty()) {
                     existingUser.setRole(cognitoTokenDTO.getRole());
-                    return userRepository.save(existingUser);
+                    return userContext.save(existingUser);
                 }
                 return existingUser;
             }
@@ -129,7 +140,7 @@ public class UserServiceImpl implements UserService {
             }
 
             // Guardar el nuevo usuario en la base de datos
-            return userRepository.save(newUser);
+            return userContext.save(newUser);
 
         } catch (Exception e) {
             throw new UserServiceException("Error al procesar usuario desde Cognito: " + e.getMessage());
@@ -203,7 +214,7 @@ public class UserServiceImpl implements UserService {
             CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(cognitoTokenDTO.getToken());
 
             // Verificar si el usuario ya existe por sub
-            return userRepository.existsBySub(userInfo.getSub());
+            return userContext.exists(userInfo.getSub());
 
         } catch (Exception e) {
             throw new UserServiceException("Error al verificar existencia del usuario: " + e.getMessage());
@@ -219,10 +230,10 @@ public class UserServiceImpl implements UserService {
             }
 
             // Extraer información del token de Cognito
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
 
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -230,7 +241,7 @@ public class UserServiceImpl implements UserService {
             // Actualizar los roles del usuario
             user.setRole(roles);
 
-            return userRepository.save(user);
+            return userContext.save(user);
         } catch (Exception e) {
             throw new UserServiceException("Error al actualizar roles del usuario: " + e.getMessage());
         }
@@ -241,11 +252,10 @@ public class UserServiceImpl implements UserService {
             throws UserServiceException {
         try {
             // Validar que el usuario esté autenticado (verificamos que el token sea válido)
-            cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
-            cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            authenticatedUser(token);
 
             // Buscar el usuario por ID
-            User targetUser = userRepository.findBySub(userId);
+            User targetUser = userContext.find(userId);
             if (targetUser == null) {
                 throw new UserServiceException("Usuario no encontrado con ID: " + userId);
             }
@@ -257,7 +267,7 @@ public class UserServiceImpl implements UserService {
             }
 
             // Verificar si el rol ya existe
-            if (currentRoles.contains(newRole)) {
+            if (hasRole(targetUser, newRole)) {
                 throw new UserServiceException("El usuario ya tiene el rol: " + newRole);
             }
 
@@ -266,7 +276,7 @@ public class UserServiceImpl implements UserService {
             targetUser.setRole(currentRoles);
 
             // Guardar los cambios
-            User updatedUser = userRepository.save(targetUser);
+            User updatedUser = userContext.save(targetUser);
 
             Map<String, Object> response = new HashMap<>();
             response.put("id", updatedUser.getSub());
@@ -286,11 +296,11 @@ public class UserServiceImpl implements UserService {
     public Map<String, Object> getUserRolesComplete(String token) throws UserServiceException {
         try {
             // Extraer información del usuario desde el token
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
 
             // Buscar el usuario en la base de datos
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -319,10 +329,10 @@ public class UserServiceImpl implements UserService {
     public StudentProfileDTO getStudentProfile(String token) throws UserServiceException {
         try {
             // Extraer información del token de Cognito
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
 
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -362,10 +372,10 @@ public class UserServiceImpl implements UserService {
     public StudentProfileDTO updateStudentProfile(String token, StudentProfileDTO studentDTO)
             throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
 
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -375,7 +385,7 @@ public class UserServiceImpl implements UserService {
 
             updateStudentFields(user, studentDTO);
 
-            User savedUser = userRepository.save(user);
+            User savedUser = userContext.save(user);
 
             return buildStudentProfileDTO(savedUser);
         } catch (UserServiceException e) {
@@ -397,8 +407,10 @@ public class UserServiceImpl implements UserService {
     }
 
     private void updateStudentFields(User user, StudentProfileDTO studentDTO) {
-        if (studentDTO.getName() != null)
+        if (studentDTO.getName() != null) {
             user.setName(studentDTO.getName());
+            refreshSearchFields(user);
+        }
         if (studentDTO.getEmail() != null)
             user.setEmail(studentDTO.getEmail());
         if (studentDTO.getPhoneNumber() != null)
@@ -425,9 +437,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public Map<String, Object> removeStudentRole(String token) throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -442,10 +454,10 @@ public class UserServiceImpl implements UserService {
             user.setRole(updatedRoles);
 
             if (updatedRoles.isEmpty()) {
-                userRepository.deleteBySub(sub);
+                userContext.delete(sub);
                 return buildRemoveStudentRoleResponse(true, null);
             } else {
-                User savedUser = userRepository.save(user);
+                User savedUser = userContext.save(user);
                 return buildRemoveStudentRoleResponse(false, savedUser.getRole());
             }
         } catch (UserServiceException e) {
@@ -484,10 +496,10 @@ public class UserServiceImpl implements UserService {
     public TutorProfileDTO getTutorProfile(String token) throws UserServiceException {
         try {
             // Extraer información del token de Cognito
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
 
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -530,9 +542,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public TutorProfileDTO updateTutorProfile(String token, TutorProfileDTO tutorDTO) throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             validateTutorUser(user);
 
             updateTutorFields(user, tutorDTO);
@@ -540,7 +552,7 @@ public class UserServiceImpl implements UserService {
             if (tutorDTO.getTokensPerHour() != null)
                 user.setTokensPerHour(tutorDTO.getTokensPerHour());
 
-            User savedUser = userRepository.save(user);
+            User savedUser = userContext.save(user);
             return buildTutorProfileDTO(savedUser);
         } catch (UserServiceException e) {
             throw e;
@@ -572,6 +584,12 @@ public class UserServiceImpl implements UserService {
             user.setIdNumber(tutorDTO.getIdNumber());
         if (tutorDTO.getBio() != null)
             user.setBio(tutorDTO.getBio());
+        refreshSearchFields(user);
+    }
+
+    /* Recalcula los campos de búsqueda normalizados (solo aplica a tutores) */
+    private void refreshSearchFields(User user) {
+        user.setSearchFields(hasRole(user, ROLE_TUTOR) ? SearchFields.from(user) : null);
     }
 
     private void handleTutorSpecializations(User user, TutorProfileDTO tutorDTO) {
@@ -599,6 +617,7 @@ public class UserServiceImpl implements UserService {
             }
         }
         user.setSpecializations(newSpecializations);
+        refreshSearchFields(user);
     }
 
     private TutorProfileDTO buildTutorProfileDTO(User user) {
@@ -619,9 +638,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public Map<String, Object> removeTutorRole(String token) throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             validateTutorUser(user);
 
             List<String> updatedRoles = removeRoleFromUser(user, ROLE_TUTOR);
@@ -630,10 +649,10 @@ public class UserServiceImpl implements UserService {
             user.setRole(updatedRoles);
 
             if (updatedRoles.isEmpty()) {
-                userRepository.deleteBySub(sub);
+                userContext.delete(sub);
                 return buildRemoveTutorRoleResponse(true, null);
             } else {
-                User savedUser = userRepository.save(user);
+                User savedUser = userContext.save(user);
                 return buildRemoveTutorRoleResponse(false, savedUser.getRole());
             }
         } catch (UserServiceException e) {
@@ -647,6 +666,7 @@ public class UserServiceImpl implements UserService {
         user.setBio(null);
         user.setSpecializations(null);
         user.setCredentials(null);
+        user.setSearchFields(null);
     }
 
     private Map<String, Object> buildRemoveTutorRoleResponse(boolean userDeleted, List<String> remainingRoles) {
@@ -668,7 +688,23 @@ public class UserServiceImpl implements UserService {
     public Map<String, Object> getPublicProfileBySub(String sub) throws UserServiceException {
         if (sub == null || sub.isBlank())
             throw new UserServiceException("El parámetro 'sub' es requerido");
+        return publicProfile(getUserBySub(sub));
+    }
+
+    @Override
+    public String getPublicProfileVersion(String sub) throws UserServiceException {
+        if (sub == null || sub.isBlank())
+            throw new UserServiceException("El parámetro 'sub' es requerido");
+        // Mismo documento que lee getPublicProfileBySub en esta petición: un solo viaje a Mongo
         User user = getUserBySub(sub);
+        if (user.getLastModified() != null) {
+            return Long.toHexString(user.getLastModified());
+        }
+        // Documento anterior a lastModified: la versión sale del contenido publicado
+        return "h" + Integer.toHexString(publicProfile(user).hashCode());
+    }
+
+    private static Map<String, Object> publicProfile(User user) {
         Map<String, Object> out = new HashMap<>();
         out.put("sub", user.getSub());
         out.put("name", user.getName());
@@ -687,9 +723,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public ProfileStatusDTO getProfileStatus(String token, String role) throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -901,6 +937,7 @@ public class UserServiceImpl implements UserService {
                 newSpec.setVerifiedAt(Instant.now().toString());
                 newSpec.setDocumentUrl(fileUrl);
                 user.getSpecializations().add(newSpec);
+                refreshSearchFields(user);
                 fileResult.put("addedSpecialization", especialidadName);
             }
         }
@@ -919,7 +956,7 @@ public class UserServiceImpl implements UserService {
             if (!user.isVerified()) {
                 user.setVerified(true);
             }
-            userRepository.save(user);
+            userContext.save(user);
         }
     }
 
@@ -971,9 +1008,9 @@ public class UserServiceImpl implements UserService {
     }
 
     private User getAndValidateTutorUser(String token) throws UserServiceException {
-        CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+        CognitoUserInfo userInfo = authenticatedUser(token);
         String sub = userInfo.getSub();
-        User user = userRepository.findBySub(sub);
+        User user = userContext.find(sub);
         if (user == null) {
             throw new UserServiceException("Usuario no encontrado");
         }
@@ -1010,6 +1047,7 @@ public class UserServiceImpl implements UserService {
                 }
             }
             user.setSpecializations(remainingSpecs);
+            refreshSearchFields(user);
         }
         return result;
     }
@@ -1019,7 +1057,7 @@ public class UserServiceImpl implements UserService {
             user.setVerified(false);
         }
         user.setCredentials(current);
-        userRepository.save(user);
+        userContext.save(user);
     }
 
     private static class AzureRemovalResult {
@@ -1066,7 +1104,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void updateTutorVerificationStatus(String userId, boolean isVerified) throws UserServiceException {
         try {
-            User user = userRepository.findBySub(userId);
+            User user = userContext.find(userId);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -1081,7 +1119,7 @@ public class UserServiceImpl implements UserService {
 
             // Actualizar el estado de verificación
             user.setVerified(isVerified);
-            userRepository.save(user);
+            userContext.save(user);
 
         } catch (UserServiceException e) {
             throw e;
@@ -1097,9 +1135,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public Integer getTutorTokensPerHour(String token) throws UserServiceException {
         try {
-            CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(token.replace(BEARER_PREFIX, ""));
+            CognitoUserInfo userInfo = authenticatedUser(token);
             String sub = userInfo.getSub();
-            User user = userRepository.findBySub(sub);
+            User user = userContext.find(sub);
             if (user == null) {
                 throw new UserServiceException("Usuario no encontrado");
             }
@@ -1120,7 +1158,7 @@ public class UserServiceImpl implements UserService {
     public Integer getTutorTokensPerHourBySub(String sub) throws UserServiceException {
         if (sub == null || sub.isBlank())
             throw new UserServiceException("El parámetro 'sub' es requerido");
-        User user = userRepository.findBySub(sub);
+        User user = userContext.find(sub);
         boolean hasTutorRole = user.getRole() != null
                 && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
         if (!hasTutorRole)
@@ -0,0 +1,71 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+
+/**
+ * Puntaje por constantes aditivas: bonificación por frase completa (8/6/4 en
+ * especializaciones, nombre y bio) y por cada token (5/3/2). Las apariciones se cuentan
+ * con un {@link TermMatcher} por consulta. Se activa con {@code search.scorer=additive}.
+ */
+@Component
+@ConditionalOnMemorySearch
+@ConditionalOnProperty(name = "search.scorer", havingValue = "additive")
+public class AdditiveTutorScorer implements TutorScorer {
+
+    @Override
+    public PreparedQuery prepare(String phrase, Collection<String> tokens) {
+        boolean hasPhrase = phrase != null && !phrase.isBlank();
+        List<String> patterns = new ArrayList<>(tokens);
+        if (hasPhrase) {
+            patterns.add(phrase);
+        }
+        if (patterns.isEmpty()) {
+            return tutor -> 0;
+        }
+        TermMatcher matcher = TermMatcher.of(patterns);
+        int tokenCount = tokens.size();
+        int n = patterns.size();
+        return tutor -> {
+            SearchFields fields = tutor.getSearchFields();
+            int[] counts = TermMatcher.countsBuffer(3 * n);
+            matcher.count(fields.getName(), counts, 0);
+            matcher.count(fields.getBio(), counts, n);
+
+            int s = 0;
+            // Bonificación por frase completa: especializaciones, nombre y bio
+            if (hasPhrase) {
+                int p = n - 1;
+                if (fields.getSpecializationsText().contains(phrase))
+                    s += 8;
+                if (counts[p] > 0)
+                    s += 6;
+                if (counts[n + p] > 0)
+                    s += 4;
+            }
+            // Bonificación por token: nombre, bio y cada especialización que lo contiene
+            for (int i = 0; i < tokenCount; i++) {
+                if (counts[i] > 0)
+                    s += 3;
+                if (counts[n + i] > 0)
+                    s += 2;
+            }
+            for (String spec : fields.getSpecializations()) {
+                Arrays.fill(counts, 2 * n, 3 * n, 0);
+                matcher.count(spec, counts, 2 * n);
+                for (int i = 0; i < tokenCount; i++) {
+                    if (counts[2 * n + i] > 0)
+                        s += 5;
+                }
+            }
+            return s;
+        };
+    }
+}
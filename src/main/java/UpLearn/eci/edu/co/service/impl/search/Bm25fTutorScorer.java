@@ -0,0 +1,223 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.User;
+
+/**
+ * Puntaje de relevancia BM25F sobre nombre, bio y especializaciones.
+ * <p>
+ * Por cada término de la consulta, las apariciones en cada campo se ponderan por el
+ * peso del campo y se normalizan por su largo respecto del largo medio del corpus; la
+ * suma saturada (k1) se multiplica por el idf del término. El idf y los largos medios
+ * salen de {@link TutorSearchIndex}, que los mantiene al indexar cada cambio, así que
+ * preparar una consulta no recorre el corpus. Como el resto de la búsqueda, un término
+ * aparece en un campo cuando es subcadena de él; las apariciones de todos los términos
+ * se cuentan con un solo recorrido de cada campo ({@link TermMatcher}). Si la consulta
+ * tiene varios tokens y la frase completa aparece en un campo, se suma un bono
+ * proporcional al idf total.
+ * <p>
+ * Como el idf y los largos medios cambian con cualquier tutor, las consultas preparadas
+ * se recuerdan por generación del corpus ({@link TutorSearchIndex#corpusGeneration()}) en
+ * una LRU de {@code search.scorer.frozen-queries} entradas: la paginación con cursor
+ * continúa con las mismas estadísticas de la primera página y no salta ni repite hits
+ * de tutores que no cambiaron. Si la generación del cursor ya salió de la LRU se usan
+ * las estadísticas actuales.
+ * <p>
+ * Es el motor por defecto ({@code search.scorer=bm25}).
+ */
+@Component
+@ConditionalOnMemorySearch
+@ConditionalOnProperty(name = "search.scorer", havingValue = "bm25", matchIfMissing = true)
+public class Bm25fTutorScorer implements TutorScorer {
+
+    /** Saturación de la frecuencia de término */
+    public static final double K1 = 1.2;
+    /* Pesos por campo, en el mismo orden de importancia que el puntaje aditivo */
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double BIO_WEIGHT = 2.0;
+    private static final double SPECIALIZATIONS_WEIGHT = 5.0;
+    /* Normalización por largo por campo (0 = ninguna, 1 = completa) */
+    private static final double NAME_B = 0.5;
+    private static final double BIO_B = 0.75;
+    private static final double SPECIALIZATIONS_B = 0.5;
+    /* Bono por frase completa, relativo a la suma de idf de los tokens */
+    private static final double PHRASE_BOOST = 1.0;
+
+    private final TutorSearchIndex tutorSearchIndex;
+    private final int maxFrozenQueries;
+    /* (generación, frase, tokens) -> consulta preparada con las estadísticas de esa generación */
+    private final LinkedHashMap<FrozenKey, PreparedQuery> frozen;
+
+    public Bm25fTutorScorer(TutorSearchIndex tutorSearchIndex,
+                            @Value("${search.scorer.frozen-queries:256}") int maxFrozenQueries) {
+        this.tutorSearchIndex = tutorSearchIndex;
+        this.maxFrozenQueries = maxFrozenQueries;
+        this.frozen = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FrozenKey, PreparedQuery> eldest) {
+                return size() > Bm25fTutorScorer.this.maxFrozenQueries;
+            }
+        };
+    }
+
+    /* Consulta preparada en una generación del corpus */
+    private record FrozenKey(long generation, String phrase, List<String> tokens) {
+    }
+
+    @Override
+    public boolean usesCorpusStats() {
+        return true;
+    }
+
+    @Override
+    public PreparedQuery prepare(String phrase, Collection<String> tokens) {
+        long generation = tutorSearchIndex.corpusGeneration();
+        FrozenKey key = new FrozenKey(generation, phrase, List.copyOf(tokens));
+        PreparedQuery cached = frozenQuery(key);
+        if (cached != null) {
+            return cached;
+        }
+        PreparedQuery query = build(phrase, tokens, generation);
+        // Solo se fija si ningún cambio del corpus se cruzó con la lectura de las estadísticas
+        if (generation % 2 != 0 || tutorSearchIndex.corpusGeneration() != generation) {
+            PreparedQuery unfrozen = query::score;
+            return unfrozen;
+        }
+        if (query.generation() != SearchCursor.NO_GENERATION && maxFrozenQueries > 0) {
+            synchronized (frozen) {
+                frozen.put(key, query);
+            }
+        }
+        return query;
+    }
+
+    @Override
+    public PreparedQuery resume(String phrase, Collection<String> tokens, long generation) {
+        if (generation != SearchCursor.NO_GENERATION) {
+            PreparedQuery cached = frozenQuery(new FrozenKey(generation, phrase, List.copyOf(tokens)));
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return prepare(phrase, tokens);
+    }
+
+    private PreparedQuery frozenQuery(FrozenKey key) {
+        if (maxFrozenQueries <= 0) {
+            return null;
+        }
+        synchronized (frozen) {
+            return frozen.get(key);
+        }
+    }
+
+    /* Arma la consulta con las estadísticas actuales, etiquetada con la generación dada */
+    private PreparedQuery build(String phrase, Collection<String> tokens, long generation) {
+        TutorSearchIndex.CorpusStats stats = tutorSearchIndex.stats();
+        // Sin tokens útiles (consulta corta o solo palabras vacías) la frase es el único término
+        List<String> terms = new ArrayList<>(tokens);
+        if (terms.isEmpty() && phrase != null && !phrase.isBlank()) {
+            terms.add(phrase);
+        }
+        if (terms.isEmpty()) {
+            return tutor -> 0;
+        }
+        double[] idf = new double[terms.size()];
+        double idfSum = 0;
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = idf(stats.tutors(), tutorSearchIndex.documentFrequency(terms.get(i)));
+            idfSum += idf[i];
+        }
+        // La frase va como último patrón del autómata cuando puede dar bono
+        double phraseBonus = 0;
+        List<String> patterns = terms;
+        if (tokens.size() > 1) {
+            phraseBonus = PHRASE_BOOST * idfSum;
+            patterns = new ArrayList<>(terms);
+            patterns.add(phrase);
+        }
+        return new Bm25Query(TermMatcher.of(patterns), idf, phraseBonus, stats, generation);
+    }
+
+    /* Consulta preparada: autómata de términos, idf por término y estadísticas del corpus */
+    private final class Bm25Query implements PreparedQuery {
+        private final TermMatcher matcher;
+        private final double[] idf;
+        private final double phraseBonus;
+        private final TutorSearchIndex.CorpusStats stats;
+        private final long generation;
+
+        Bm25Query(TermMatcher matcher, double[] idf, double phraseBonus, TutorSearchIndex.CorpusStats stats,
+                  long generation) {
+            this.matcher = matcher;
+            this.idf = idf;
+            this.phraseBonus = phraseBonus;
+            this.stats = stats;
+            this.generation = generation;
+        }
+
+        @Override
+        public long generation() {
+            return generation;
+        }
+
+        @Override
+        public double score(User tutor) {
+            SearchFields fields = tutor.getSearchFields();
+            int[] lengths = tutorSearchIndex.fieldLengths(tutor.getSub());
+            int nameLength = lengths != null ? lengths[0] : TutorSearchIndex.termCount(fields.getName());
+            int bioLength = lengths != null ? lengths[1] : TutorSearchIndex.termCount(fields.getBio());
+            int specsLength = lengths != null ? lengths[2] : TutorSearchIndex.termCount(fields.getSpecializationsText());
+            double nameNorm = norm(NAME_B, nameLength, stats.avgNameLength());
+            double bioNorm = norm(BIO_B, bioLength, stats.avgBioLength());
+            double specsNorm = norm(SPECIALIZATIONS_B, specsLength, stats.avgSpecializationsLength());
+
+            // Una pasada por campo cuenta todos los términos a la vez
+            int n = matcher.size();
+            int[] counts = TermMatcher.countsBuffer(3 * n);
+            matcher.count(fields.getName(), counts, 0);
+            matcher.count(fields.getBio(), counts, n);
+            matcher.count(fields.getSpecializationsText(), counts, 2 * n);
+
+            double score = 0;
+            for (int i = 0; i < idf.length; i++) {
+                double tf = NAME_WEIGHT * counts[i] / nameNorm
+                        + BIO_WEIGHT * counts[n + i] / bioNorm
+                        + SPECIALIZATIONS_WEIGHT * counts[2 * n + i] / specsNorm;
+                if (tf > 0) {
+                    score += idf[i] * tf / (K1 + tf);
+                }
+            }
+            if (score > 0 && phraseBonus > 0) {
+                int phrase = n - 1;
+                if (counts[phrase] > 0 || counts[n + phrase] > 0 || counts[2 * n + phrase] > 0) {
+                    score += phraseBonus;
+                }
+            }
+            return score;
+        }
+    }
+
+    /* idf de BM25 con suavizado (siempre positivo) */
+    private static double idf(int tutors, int documentFrequency) {
+        return Math.log(1 + (tutors - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /* Factor de normalización por largo del campo */
+    private static double norm(double b, int length, double avgLength) {
+        if (avgLength <= 0) {
+            return 1;
+        }
+        return 1 - b + b * length / avgLength;
+    }
+}
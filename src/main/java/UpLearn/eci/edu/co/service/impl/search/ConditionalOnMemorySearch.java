@@ -0,0 +1,24 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Registra el componente solo con el backend de búsqueda en memoria
+ * ({@code search.backend=memory}, el valor por defecto).
+ * <p>
+ * Lo llevan el índice invertido y todas las estructuras que se cargan desde él: con
+ * {@code search.backend=mongo-text} ninguna se crea, así que el catálogo no se carga
+ * en el heap de la aplicación.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(name = "search.backend", havingValue = "memory", matchIfMissing = true)
+public @interface ConditionalOnMemorySearch {
+}
@@ -0,0 +1,151 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.User;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Puntuación de candidatos de búsqueda, secuencial o repartida en particiones.
+ * <p>
+ * Por debajo del umbral se recorre la colección en el hilo de la petición. Por encima,
+ * los candidatos se dividen en particiones que se puntúan en un {@link ForkJoinPool}
+ * propio (no el común, para no competir con otros usos de streams paralelos); cada
+ * partición arma su propio top-k y los resultados se combinan al volver.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class ParallelScorer {
+
+    /* Tamaño mínimo de una partición: por debajo no compensa dividir */
+    private static final int MIN_SHARD_SIZE = 512;
+    /* Particiones por hilo, para repartir mejor cuando unas tardan más que otras */
+    private static final int SHARDS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelScorer(@Value("${search.parallel.threshold:5000}") int threshold,
+                          @Value("${search.parallel.threads:0}") int threads) {
+        this.threshold = threshold;
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("search-scorer-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Puntúa los candidatos y devuelve el top-k combinado
+     * @param candidates tutores a evaluar
+     * @param k          tamaño de página
+     * @param after      cursor de la página (o null)
+     * @param scorer     evalúa un tutor y, si coincide, lo agrega a la partición;
+     *                   debe ser seguro para llamarse desde varios hilos
+     */
+    public Shard score(Collection<User> candidates, int k, SearchCursor after, BiConsumer<User, Shard> scorer) {
+        int n = candidates.size();
+        if (threshold <= 0 || n < threshold || pool.getParallelism() < 2) {
+            Shard shard = new Shard(k, after);
+            for (User u : candidates) {
+                scorer.accept(u, shard);
+            }
+            return shard;
+        }
+        User[] users = candidates.toArray(new User[0]);
+        int shardSize = Math.max(MIN_SHARD_SIZE, users.length / (pool.getParallelism() * SHARDS_PER_THREAD));
+        return pool.invoke(new ScoreTask(users, 0, users.length, shardSize, k, after, scorer));
+    }
+
+    /** Resultado parcial de una partición: top-k, ordinales coincidentes y cantidad de coincidencias */
+    public static final class Shard {
+        private final TopKCollector best;
+        private final BitSet matched = new BitSet();
+        private int count;
+
+        Shard(int k, SearchCursor after) {
+            this.best = new TopKCollector(k, after);
+        }
+
+        /** Registra un tutor coincidente (ord = -1 si aún no tiene ordinal de facetas) */
+        public void add(SearchHit hit, int ord) {
+            count++;
+            if (ord >= 0) {
+                matched.set(ord);
+            }
+            best.offer(hit);
+        }
+
+        void merge(Shard other) {
+            count += other.count;
+            matched.or(other.matched);
+            best.merge(other.best);
+        }
+
+        public TopKCollector best() {
+            return best;
+        }
+
+        public BitSet matched() {
+            return matched;
+        }
+
+        public int count() {
+            return count;
+        }
+    }
+
+    /* Divide el rango a la mitad hasta el tamaño de partición y combina los resultados */
+    private static final class ScoreTask extends RecursiveTask<Shard> {
+        private final User[] users;
+        private final int from;
+        private final int to;
+        private final int shardSize;
+        private final int k;
+        private final SearchCursor after;
+        private final BiConsumer<User, Shard> scorer;
+
+        ScoreTask(User[] users, int from, int to, int shardSize, int k, SearchCursor after,
+                  BiConsumer<User, Shard> scorer) {
+            this.users = users;
+            this.from = from;
+            this.to = to;
+            this.shardSize = shardSize;
+            this.k = k;
+            this.after = after;
+            this.scorer = scorer;
+        }
+
+        @Override
+        protected Shard compute() {
+            if (to - from <= shardSize) {
+                Shard shard = new Shard(k, after);
+                for (int i = from; i < to; i++) {
+                    scorer.accept(users[i], shard);
+                }
+                return shard;
+            }
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(users, from, mid, shardSize, k, after, scorer);
+            ScoreTask right = new ScoreTask(users, mid, to, shardSize, k, after, scorer);
+            left.fork();
+            Shard result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import UpLearn.eci.edu.co.config.InvalidRequestException;
+import UpLearn.eci.edu.co.config.UserServiceException;
+
+/**
+ * Cursor opaco de paginación por clave para el listado de tutores por tarifa.
+ * Guarda la clave de orden (tarifa, sub) del último tutor entregado.
+ *
+ * @param tokensPerHour tarifa del último tutor
+ * @param sub           sub del último tutor
+ */
+public record PriceCursor(int tokensPerHour, String sub) {
+
+    private static final char SEPARATOR = '\n';
+
+    /** Serializa el cursor como texto base64 apto para URL */
+    public String encode() {
+        String raw = tokensPerHour + String.valueOf(SEPARATOR) + sub;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Reconstruye un cursor generado por {@link #encode()} */
+    public static PriceCursor decode(String value) throws UserServiceException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("formato desconocido");
+            }
+            return new PriceCursor(Integer.parseInt(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Cursor de tarifa inválido");
+        }
+    }
+
+    /**
+     * Cursor de la petición (o null si no viene) validado contra el rango pedido
+     * @throws InvalidRequestException si no se puede decodificar o su tarifa queda fuera
+     *                                 de [min, max] (el cursor es de otra consulta)
+     */
+    public static PriceCursor decode(String value, Integer min, Integer max) throws UserServiceException {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        PriceCursor cursor = decode(value);
+        boolean inverted = min != null && max != null && min > max;
+        if (!inverted && ((min != null && cursor.tokensPerHour < min) || (max != null && cursor.tokensPerHour > max))) {
+            throw new InvalidRequestException("El cursor 'after' no corresponde al rango de tarifas pedido ("
+                    + (min == null ? "" : min) + ".." + (max == null ? "" : max) + "): pida la primera página sin cursor");
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,151 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+
+/**
+ * Tokenizador de consultas escrito a mano (sin expresiones regulares).
+ * <p>
+ * Un token es una secuencia máxima de letras ({@code \p{L}}) o dígitos
+ * ({@code \p{Nd}}); la clasificación de los caracteres del plano básico sale de una
+ * tabla precalculada. Se descartan los tokens de menos de {@link #MIN_TOKEN_LENGTH}
+ * caracteres y las palabras vacías, que se comparan por región sin crear cadenas, así
+ * que {@link #forEachToken} no asigna memoria. Las palabras vacías por defecto se
+ * pueden ampliar con {@code search.stopwords.extra}.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class QueryTokenizer {
+
+    /** Largo mínimo de un token */
+    public static final int MIN_TOKEN_LENGTH = 3;
+
+    /** Palabras vacías por defecto */
+    public static final List<String> DEFAULT_STOPWORDS = List.of(
+            "con", "de", "del", "la", "el", "los", "las", "y", "o", "para", "por", "una",
+            "unos", "unas", "al", "en", "que", "se", "curso");
+
+    /* Clasificación de los caracteres del plano básico: true = letra o dígito */
+    private static final boolean[] TOKEN_CHARS = new boolean[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            TOKEN_CHARS[c] = Character.isLetter(c) || Character.isDigit(c);
+        }
+    }
+
+    /* Palabras vacías agrupadas por largo */
+    private final String[][] stopwordsByLength;
+
+    /** Recibe un token como rango [start, end) del texto, sin copiarlo */
+    @FunctionalInterface
+    public interface TokenConsumer {
+        void accept(String text, int start, int end);
+    }
+
+    public QueryTokenizer(@Value("${search.stopwords.extra:}") String[] extraStopwords) {
+        Set<String> stopwords = new LinkedHashSet<>(DEFAULT_STOPWORDS);
+        if (extraStopwords != null) {
+            for (String word : extraStopwords) {
+                String normalized = SearchTextNormalizer.normalize(word == null ? "" : word.trim());
+                if (!normalized.isEmpty()) {
+                    stopwords.add(normalized);
+                }
+            }
+        }
+        int maxLength = 0;
+        for (String word : stopwords) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+        List<List<String>> grouped = new ArrayList<>();
+        for (int i = 0; i <= maxLength; i++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (String word : stopwords) {
+            grouped.get(word.length()).add(word);
+        }
+        stopwordsByLength = new String[maxLength + 1][];
+        for (int i = 0; i <= maxLength; i++) {
+            stopwordsByLength[i] = grouped.get(i).toArray(new String[0]);
+        }
+    }
+
+    /** Indica si el code point forma parte de un token */
+    public static boolean isTokenChar(int codePoint) {
+        return codePoint <= Character.MAX_VALUE
+                ? TOKEN_CHARS[codePoint]
+                : Character.isLetter(codePoint) || Character.isDigit(codePoint);
+    }
+
+    /** Cantidad de términos (secuencias de letras o dígitos) de un texto, sin filtrar */
+    public static int termCount(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean inTerm = false;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            boolean tokenChar = isTokenChar(cp);
+            if (tokenChar && !inTerm) {
+                count++;
+            }
+            inTerm = tokenChar;
+            i += Character.charCount(cp);
+        }
+        return count;
+    }
+
+    /** Recorre los tokens útiles del texto normalizado sin asignar memoria */
+    public void forEachToken(String text, TokenConsumer consumer) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int cp = text.codePointAt(i);
+            if (!isTokenChar(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            int chars = 0;
+            while (i < length) {
+                cp = text.codePointAt(i);
+                if (!isTokenChar(cp)) {
+                    break;
+                }
+                i += Character.charCount(cp);
+                chars++;
+            }
+            if (chars >= MIN_TOKEN_LENGTH && !isStopword(text, start, i)) {
+                consumer.accept(text, start, i);
+            }
+        }
+    }
+
+    /** Tokens útiles del texto normalizado, sin repetir y en orden de aparición */
+    public Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        forEachToken(text, (t, start, end) -> tokens.add(t.substring(start, end)));
+        return tokens;
+    }
+
+    private boolean isStopword(String text, int start, int end) {
+        int length = end - start;
+        if (length >= stopwordsByLength.length) {
+            return false;
+        }
+        for (String word : stopwordsByLength[length]) {
+            if (text.regionMatches(start, word, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
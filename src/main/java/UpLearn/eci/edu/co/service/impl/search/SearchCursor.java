@@ -0,0 +1,82 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import UpLearn.eci.edu.co.config.InvalidRequestException;
+import UpLearn.eci.edu.co.config.UserServiceException;
+
+/**
+ * Cursor opaco de paginación (search-after) para la búsqueda de tutores.
+ * Guarda la clave de orden del último hit entregado; la siguiente página
+ * empieza justo después de esa clave, así que no se desplaza aunque se
+ * agreguen o eliminen tutores entre una página y otra. Si el puntaje depende de las
+ * estadísticas del corpus, el cursor lleva además la generación con que se puntuó, para
+ * que las páginas siguientes se puntúen con las mismas.
+ *
+ * @param score      puntaje del último hit
+ * @param name       nombre del último hit
+ * @param sub        sub del último hit
+ * @param generation generación del corpus del puntaje, o {@link #NO_GENERATION}
+ */
+public record SearchCursor(double score, String name, String sub, long generation) {
+
+    /** El puntaje no depende de una generación del corpus */
+    public static final long NO_GENERATION = -1;
+    private static final char SEPARATOR = '\n';
+
+    public SearchCursor(double score, String name, String sub) {
+        this(score, name, sub, NO_GENERATION);
+    }
+
+    /**
+     * Serializa el cursor como texto base64 apto para URL (el puntaje se escribe sin pérdida).
+     * La generación, si la hay, va primero: un puntaje siempre se escribe con punto o
+     * exponente, así que los cursores sin generación conservan el formato anterior.
+     */
+    public String encode() {
+        String raw = score + String.valueOf(SEPARATOR) + sub + SEPARATOR + name;
+        if (generation != NO_GENERATION) {
+            raw = generation + String.valueOf(SEPARATOR) + raw;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reconstruye un cursor generado por {@link #encode()}
+     * @throws InvalidRequestException si el texto no es un cursor (alterado o de otro endpoint)
+     */
+    public static SearchCursor decode(String value) throws UserServiceException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            long generation = NO_GENERATION;
+            int head = raw.indexOf(SEPARATOR);
+            if (head > 0 && isGeneration(raw, head)) {
+                generation = Long.parseLong(raw.substring(0, head));
+                raw = raw.substring(head + 1);
+            }
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new IllegalArgumentException("formato desconocido");
+            }
+            double score = Double.parseDouble(raw.substring(0, first));
+            String sub = raw.substring(first + 1, second);
+            String name = raw.substring(second + 1);
+            return new SearchCursor(score, name, sub, generation);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Cursor de búsqueda inválido");
+        }
+    }
+
+    /* Solo dígitos: una generación (un puntaje lleva punto, exponente o signo) */
+    private static boolean isGeneration(String raw, int end) {
+        for (int i = 0; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+/**
+ * Migración de arranque que completa {@code searchFields} en los tutores guardados
+ * antes de que existieran los campos de búsqueda precalculados.
+ * Solo escribe ese campo ({@code $set}) para no pisar el resto del documento, y se
+ * ejecuta antes de construir el índice de búsqueda.
+ */
+@Component
+public class SearchFieldsMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchFieldsMigration.class);
+
+    private final UserMongoRepository userMongoRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public SearchFieldsMigration(UserMongoRepository userMongoRepository, MongoTemplate mongoTemplate) {
+        this.userMongoRepository = userMongoRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Order(-10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int[] updated = {0};
+        try (Stream<User> pending = userMongoRepository.streamTutorsWithoutSearchFields()) {
+            pending.forEach(user -> {
+                mongoTemplate.updateFirst(
+                        Query.query(Criteria.where("_id").is(user.getSub())),
+                        Update.update("searchFields", SearchFields.from(user)),
+                        User.class);
+                updated[0]++;
+            });
+        } catch (Exception e) {
+            log.error("Error completando los campos de búsqueda de los tutores", e);
+        }
+        if (updated[0] > 0) {
+            log.info("Campos de búsqueda completados para {} tutores", updated[0]);
+        }
+    }
+}
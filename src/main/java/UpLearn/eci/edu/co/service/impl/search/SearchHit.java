@@ -0,0 +1,49 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.Comparator;
+
+import UpLearn.eci.edu.co.model.User;
+
+/**
+ * Tutor puntuado para una consulta.
+ * El orden del ranking es determinista: puntaje descendente, luego nombre y por
+ * último sub, de modo que dos hits distintos nunca empatan y el cursor de
+ * paginación identifica una posición exacta.
+ *
+ * @param user  tutor
+ * @param score puntaje obtenido
+ */
+public record SearchHit(User user, double score) {
+
+    /** Orden del ranking (el mejor primero) */
+    public static final Comparator<SearchHit> RANKING = Comparator
+            .comparingDouble(SearchHit::score).reversed()
+            .thenComparing(SearchHit::sortName)
+            .thenComparing(SearchHit::sub);
+
+    public String sub() {
+        return user.getSub();
+    }
+
+    public String sortName() {
+        return user.getName() == null ? "" : user.getName();
+    }
+
+    /** Indica si este hit va estrictamente después de la posición del cursor */
+    public boolean isAfter(SearchCursor cursor) {
+        int byScore = Double.compare(cursor.score(), score);
+        if (byScore != 0) {
+            return byScore > 0;
+        }
+        int byName = sortName().compareTo(cursor.name());
+        if (byName != 0) {
+            return byName > 0;
+        }
+        return sub().compareTo(cursor.sub()) > 0;
+    }
+
+    /** Cursor en la posición de este hit, con la generación del corpus con que se puntuó */
+    public SearchCursor toCursor(long generation) {
+        return new SearchCursor(score, sortName(), sub(), generation);
+    }
+}
@@ -0,0 +1,183 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+
+/**
+ * Caché acotada de páginas de resultados de búsqueda.
+ * <p>
+ * Las entradas se indexan por la frase normalizada, el conjunto de tokens, los filtros
+ * y los parámetros de paginación. Se descartan por tamaño (LRU) y por antigüedad (TTL),
+ * y se invalidan de forma puntual cuando cambia un tutor que estaba entre los resultados
+ * (página o conteos de facetas) o que coincidiría con la consulta. Si el puntaje depende
+ * de las estadísticas del corpus, cada página recuerda la generación del corpus con que
+ * se puntuó y se descarta cuando esa generación deja de ser la actual. Una generación
+ * global evita guardar resultados que se calcularon antes de una invalidación concurrente.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class SearchResultCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Key, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public SearchResultCache(@Value("${search.cache.max-entries:500}") int maxEntries,
+                             @Value("${search.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Clave de una consulta ya normalizada
+     *
+     * @param phrase frase normalizada
+     * @param tokens tokens de la consulta en orden
+     * @param filter filtros de la consulta (o null)
+     * @param size   tamaño de página
+     * @param after  cursor de la página (o null)
+     */
+    public record Key(String phrase, List<String> tokens, TutorSearchFilterDTO filter, int size, String after) {
+
+        public static Key of(String phrase, Set<String> tokens, TutorSearchFilterDTO filter, int size, String after) {
+            TutorSearchFilterDTO f = filter == null || !filter.hasCriteria() ? null
+                    : new TutorSearchFilterDTO(filter.getSpecialization(), filter.getVerified(),
+                            filter.getVerifiedSpecialization(), filter.getMinTokensPerHour(), filter.getMaxTokensPerHour());
+            return new Key(phrase, List.copyOf(tokens), f, size, after == null || after.isBlank() ? null : after);
+        }
+
+        public boolean isBlank() {
+            return phrase.isBlank() && tokens.isEmpty();
+        }
+    }
+
+    /*
+     * Página cacheada con los ordinales de todos los tutores que coincidieron y la
+     * generación del corpus con que se puntuó
+     */
+    private record Entry(TutorSearchPageDTO page, BitSet matched, boolean fuzzy, long corpusGeneration,
+                         long expiresAt) {
+    }
+
+    /** Generación actual; se pasa a {@link #put} para descartar resultados obsoletos */
+    public long generation() {
+        return generation.get();
+    }
+
+    public TutorSearchPageDTO get(Key key) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt() < System.currentTimeMillis()) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.page();
+        }
+    }
+
+    /**
+     * Guarda una página si no hubo invalidaciones desde que empezó a calcularse
+     * @param matched ordinales ({@link TutorFacetIndex}) de todos los tutores que coincidieron
+     * @param fuzzy   true si la página salió de la etapa tolerante a errores
+     * @param corpusGeneration generación del corpus del puntaje, o {@link SearchCursor#NO_GENERATION}
+     */
+    public void put(Key key, TutorSearchPageDTO page, BitSet matched, boolean fuzzy, long corpusGeneration,
+                    long computedAtGeneration) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation.get() != computedAtGeneration) {
+                return;
+            }
+            entries.put(key, new Entry(page, matched, fuzzy, corpusGeneration,
+                    System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    /**
+     * Invalida las páginas afectadas por el cambio de un tutor: aquellas en cuyos
+     * resultados estaba, las de consulta vacía, las de la etapa difusa, aquellas cuya
+     * consulta coincide con la nueva versión del documento y, si el puntaje depende del
+     * corpus, las que no se puntuaron con su generación actual.
+     *
+     * @param ordinal          ordinal del tutor modificado (-1 si no tiene)
+     * @param corpusGeneration generación actual del corpus, o {@link SearchCursor#NO_GENERATION}
+     *                         si el puntaje no depende de él
+     * @param matches indica si la consulta de una clave coincide con la nueva versión
+     *                (siempre false si el tutor fue eliminado o ya no es tutor)
+     */
+    public void invalidate(int ordinal, long corpusGeneration, Predicate<Key> matches) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Entry> e = it.next();
+                Entry entry = e.getValue();
+                if ((ordinal >= 0 && entry.matched().get(ordinal)) || e.getKey().isBlank() || entry.fuzzy()
+                        || (corpusGeneration != SearchCursor.NO_GENERATION
+                                && entry.corpusGeneration() != corpusGeneration)
+                        || matches.test(e.getKey())) {
+                    it.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /** Contadores de la caché */
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+}
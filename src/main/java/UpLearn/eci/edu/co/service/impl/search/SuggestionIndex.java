@@ -0,0 +1,220 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.dto.SuggestionDTO;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+
+/**
+ * Estructura de prefijos para el autocompletado del buscador.
+ * <p>
+ * Los términos son los nombres de especializaciones y de tutores. Cada término se
+ * registra en un mapa ordenado bajo su forma normalizada y bajo cada sufijo que empieza
+ * en una palabra ("ingenieria civil" y "civil"), así un prefijo se resuelve con un rango
+ * del mapa. El peso de un término es la cantidad de tutores que lo comparten y se
+ * mantiene con cada {@link UserChangedEvent}.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class SuggestionIndex {
+
+    public static final String TYPE_SPECIALIZATION = "SPECIALIZATION";
+    public static final String TYPE_TUTOR = "TUTOR";
+    /** Cantidad de sugerencias por defecto y máxima */
+    public static final int DEFAULT_LIMIT = 8;
+    public static final int MAX_LIMIT = 20;
+    private static final String ROLE_TUTOR = "TUTOR";
+
+    private final TutorSearchIndex tutorSearchIndex;
+
+    /* prefijo indexable -> claves de término */
+    private final ConcurrentNavigableMap<String, Set<String>> keys = new ConcurrentSkipListMap<>();
+    /* clave de término (tipo + texto normalizado) -> término */
+    private final Map<String, Term> terms = new ConcurrentHashMap<>();
+    /* sub -> claves de término aportadas por el tutor */
+    private final Map<String, Set<String>> termsBySub = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public SuggestionIndex(TutorSearchIndex tutorSearchIndex) {
+        this.tutorSearchIndex = tutorSearchIndex;
+    }
+
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (User tutor : tutorSearchIndex.allTutors()) {
+                upsert(tutor);
+            }
+            loaded = true;
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            remove(event.sub());
+        } else {
+            upsert(event.user());
+        }
+    }
+
+    /** Registra los términos que aporta un tutor */
+    public synchronized void upsert(User user) {
+        if (user == null || user.getSub() == null) {
+            return;
+        }
+        remove(user.getSub());
+        if (!isTutor(user)) {
+            return;
+        }
+        Set<String> contributed = new HashSet<>();
+        addTerm(TYPE_TUTOR, user.getName(), user.getSub(), contributed);
+        if (user.getSpecializations() != null) {
+            for (Specialization spec : user.getSpecializations()) {
+                if (spec != null) {
+                    addTerm(TYPE_SPECIALIZATION, spec.getName(), user.getSub(), contributed);
+                }
+            }
+        }
+        termsBySub.put(user.getSub(), contributed);
+    }
+
+    /** Retira los términos que aportaba un tutor */
+    public synchronized void remove(String sub) {
+        Set<String> contributed = termsBySub.remove(sub);
+        if (contributed == null) {
+            return;
+        }
+        for (String termKey : contributed) {
+            Term term = terms.get(termKey);
+            if (term == null) {
+                continue;
+            }
+            term.subs.remove(sub);
+            if (term.subs.isEmpty()) {
+                terms.remove(termKey);
+                for (String key : indexKeys(term.normalized)) {
+                    Set<String> termKeys = keys.get(key);
+                    if (termKeys != null) {
+                        termKeys.remove(termKey);
+                        if (termKeys.isEmpty()) {
+                            keys.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Completa un prefijo con los términos más compartidos
+     * @param prefix texto escrito por el usuario
+     * @param limit  cantidad máxima de sugerencias
+     */
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        ensureLoaded();
+        String normalized = SearchTextNormalizer.normalize(prefix == null ? "" : prefix.trim());
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Comparator<Term> byWeight = Comparator.comparingInt((Term t) -> t.subs.size())
+                .thenComparing(t -> t.normalized, Comparator.reverseOrder());
+        PriorityQueue<Term> best = new PriorityQueue<>(limit + 1, byWeight);
+        Set<String> seen = new HashSet<>();
+        for (Set<String> termKeys : keys.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            for (String termKey : termKeys) {
+                Term term = terms.get(termKey);
+                if (term == null || !seen.add(termKey)) {
+                    continue;
+                }
+                best.offer(term);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Term> ranked = new ArrayList<>(best);
+        ranked.sort(byWeight.reversed());
+        List<SuggestionDTO> result = new ArrayList<>(ranked.size());
+        for (Term term : ranked) {
+            result.add(new SuggestionDTO(term.display, term.type, term.subs.size()));
+        }
+        return result;
+    }
+
+    private void addTerm(String type, String text, String sub, Set<String> contributed) {
+        String normalized = SearchTextNormalizer.normalize(text == null ? "" : text.trim());
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String termKey = type + ':' + normalized;
+        Term term = terms.computeIfAbsent(termKey, k -> {
+            for (String key : indexKeys(normalized)) {
+                keys.computeIfAbsent(key, x -> ConcurrentHashMap.newKeySet()).add(k);
+            }
+            return new Term(type, normalized, text.trim());
+        });
+        term.subs.add(sub);
+        contributed.add(termKey);
+    }
+
+    /* El término completo y cada sufijo que empieza en una palabra */
+    private static List<String> indexKeys(String normalized) {
+        List<String> result = new ArrayList<>();
+        result.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ' && normalized.charAt(i) != ' ') {
+                result.add(normalized.substring(i));
+            }
+        }
+        return result;
+    }
+
+    private boolean isTutor(User user) {
+        return user.getRole() != null && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
+    }
+
+    /* Término sugerible con los tutores que lo comparten */
+    private static final class Term {
+        final String type;
+        final String normalized;
+        final String display;
+        final Set<String> subs = ConcurrentHashMap.newKeySet();
+
+        Term(String type, String normalized, String display) {
+            this.type = type;
+            this.normalized = normalized;
+            this.display = display;
+        }
+    }
+}
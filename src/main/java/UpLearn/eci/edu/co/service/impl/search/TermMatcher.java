@@ -0,0 +1,159 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Autómata de Aho-Corasick sobre los términos de una consulta.
+ * <p>
+ * Se construye una vez por consulta y cuenta en una sola pasada las apariciones de
+ * todos los términos en un texto, en lugar de un {@code contains} por término. Las
+ * transiciones se precalculan como un autómata determinista sobre el alfabeto de los
+ * términos (los caracteres fuera de él vuelven al estado inicial), de modo que el
+ * recorrido no asigna memoria. Es inmutable y se puede usar desde varios hilos.
+ * <p>
+ * Los conteos se acumulan en un buffer por hilo ({@link #countsBuffer(int)}) compartido
+ * por todas las consultas, que solo crece: puntuar no asigna memoria ni deja entradas
+ * por consulta en los ThreadLocalMap de los hilos del servidor o del pool de puntuación.
+ */
+public final class TermMatcher {
+
+    private static final int[] NO_OUTPUT = new int[0];
+    private static final ThreadLocal<int[]> COUNTS = ThreadLocal.withInitial(() -> new int[64]);
+
+    private final int patterns;
+    /* caracteres de los términos, ordenados (posición = columna de la tabla) */
+    private final char[] alphabet;
+    /* estado * |alfabeto| + columna -> estado siguiente */
+    private final int[] delta;
+    /* estado -> términos que terminan en él (incluye los heredados por los enlaces de fallo) */
+    private final int[][] outputs;
+
+    private TermMatcher(int patterns, char[] alphabet, int[] delta, int[][] outputs) {
+        this.patterns = patterns;
+        this.alphabet = alphabet;
+        this.delta = delta;
+        this.outputs = outputs;
+    }
+
+    /** Construye el autómata; los términos vacíos nunca coinciden */
+    public static TermMatcher of(List<String> terms) {
+        TreeSet<Character> chars = new TreeSet<>();
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                chars.add(term.charAt(i));
+            }
+        }
+        char[] alphabet = new char[chars.size()];
+        int a = 0;
+        for (char c : chars) {
+            alphabet[a++] = c;
+        }
+        int width = alphabet.length;
+
+        // Trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        children.add(new HashMap<>());
+        out.add(new ArrayList<>());
+        for (int p = 0; p < terms.size(); p++) {
+            String term = terms.get(p);
+            if (term.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < term.length(); i++) {
+                int column = Arrays.binarySearch(alphabet, term.charAt(i));
+                Integer next = children.get(state).get(column);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    out.add(new ArrayList<>());
+                    children.get(state).put(column, next);
+                }
+                state = next;
+            }
+            out.get(state).add(p);
+        }
+
+        // Enlaces de fallo en anchura, resueltos directamente en la tabla de transiciones
+        int states = children.size();
+        int[] delta = new int[states * width];
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int column = 0; column < width; column++) {
+            Integer next = children.get(0).get(column);
+            if (next != null) {
+                delta[column] = next;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            for (int column = 0; column < width; column++) {
+                Integer next = children.get(state).get(column);
+                if (next != null) {
+                    fail[next] = delta[fail[state] * width + column];
+                    delta[state * width + column] = next;
+                    queue.add(next);
+                } else {
+                    delta[state * width + column] = delta[fail[state] * width + column];
+                }
+            }
+        }
+
+        int[][] outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            List<Integer> o = out.get(s);
+            outputs[s] = o.isEmpty() ? NO_OUTPUT : o.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new TermMatcher(terms.size(), alphabet, delta, outputs);
+    }
+
+    /**
+     * Buffer de conteos del hilo actual con al menos {@code size} posiciones, las
+     * primeras {@code size} en cero. Se reutiliza en la siguiente llamada del mismo hilo,
+     * así que no debe guardarse más allá del puntaje de un tutor.
+     */
+    public static int[] countsBuffer(int size) {
+        int[] counts = COUNTS.get();
+        if (counts.length < size) {
+            counts = new int[Math.max(size, counts.length * 2)];
+            COUNTS.set(counts);
+        } else {
+            Arrays.fill(counts, 0, size, 0);
+        }
+        return counts;
+    }
+
+    /** Cantidad de términos del autómata */
+    public int size() {
+        return patterns;
+    }
+
+    /**
+     * Suma a {@code counts[offset + i]} las apariciones del término i en el texto
+     * (las apariciones solapadas de un mismo término cuentan por separado)
+     */
+    public void count(String text, int[] counts, int offset) {
+        if (text == null || alphabet.length == 0) {
+            return;
+        }
+        int width = alphabet.length;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int column = Arrays.binarySearch(alphabet, text.charAt(i));
+            state = column < 0 ? 0 : delta[state * width + column];
+            for (int p : outputs[state]) {
+                counts[offset + p]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+
+/**
+ * Selección acotada de los k mejores hits según {@link SearchHit#RANKING}.
+ * Retiene k+1 elementos en un montículo cuyo tope es el peor retenido (O(n log k)),
+ * descarta lo que no va después del cursor y arma la página con el cursor siguiente.
+ */
+public final class TopKCollector {
+
+    /** Tamaño de página por defecto y máximo de la búsqueda */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final int k;
+    private final SearchCursor after;
+    private final PriorityQueue<SearchHit> heap;
+
+    public TopKCollector(int k, SearchCursor after) {
+        this.k = k;
+        this.after = after;
+        this.heap = new PriorityQueue<>(k + 2, SearchHit.RANKING.reversed());
+    }
+
+    /** Normaliza el tamaño de página pedido por el cliente */
+    public static int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    public void offer(SearchHit hit) {
+        if (after != null && !hit.isAfter(after)) {
+            return;
+        }
+        heap.offer(hit);
+        if (heap.size() > k + 1) {
+            heap.poll();
+        }
+    }
+
+    /** Incorpora los hits retenidos por otro colector (p. ej. de otra partición) */
+    public void merge(TopKCollector other) {
+        for (SearchHit hit : other.heap) {
+            offer(hit);
+        }
+    }
+
+    /** Ordena los hits retenidos y calcula el cursor de la página siguiente */
+    public TutorSearchPageDTO toPage() {
+        return toPage(SearchCursor.NO_GENERATION);
+    }
+
+    /**
+     * Igual que {@link #toPage()}, anotando en el cursor siguiente la generación del
+     * corpus con que se puntuaron los hits
+     */
+    public TutorSearchPageDTO toPage(long generation) {
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(SearchHit.RANKING);
+        String nextCursor = null;
+        if (hits.size() > k) {
+            hits = hits.subList(0, k);
+            nextCursor = hits.get(k - 1).toCursor(generation).encode();
+        }
+        List<TutorSummaryDTO> tutors = hits.stream().map(hit -> TutorSummaries.of(hit.user())).toList();
+        return new TutorSearchPageDTO(tutors, tutors.size(), nextCursor, null);
+    }
+}
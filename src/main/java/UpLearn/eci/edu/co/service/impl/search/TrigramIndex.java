@@ -0,0 +1,216 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+
+/**
+ * Índice de trigramas sobre los términos de nombres de tutores y de especializaciones,
+ * usado para tolerar errores de escritura ("fisca" → "fisica").
+ * <p>
+ * Cada término se descompone en trigramas (con relleno al inicio y al final) y cada
+ * trigrama apunta a los términos que lo contienen. Para un token de consulta los
+ * candidatos salen de las listas de sus propios trigramas, y la similitud es el índice
+ * de Jaccard entre ambos conjuntos de trigramas; no se recorre ningún tutor que no
+ * comparta trigramas con la consulta.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class TrigramIndex {
+
+    /** Similitud mínima para considerar que un término coincide (igual al umbral por defecto de pg_trgm) */
+    public static final double DEFAULT_THRESHOLD = 0.3;
+    /** Peso de un término que viene de una especialización */
+    public static final int SPECIALIZATION_WEIGHT = 5;
+    /** Peso de un término que viene del nombre del tutor */
+    public static final int NAME_WEIGHT = 3;
+
+    private static final Pattern TERM_SPLIT = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final String ROLE_TUTOR = "TUTOR";
+
+    private final TutorSearchIndex tutorSearchIndex;
+
+    /* trigrama -> términos que lo contienen */
+    private final Map<String, Set<String>> termsByTrigram = new ConcurrentHashMap<>();
+    /* término -> cantidad de trigramas distintos del término */
+    private final Map<String, Integer> trigramCount = new ConcurrentHashMap<>();
+    /* término -> (sub -> peso del campo de donde sale el término) */
+    private final Map<String, Map<String, Integer>> postings = new ConcurrentHashMap<>();
+    /* sub -> términos indexados del tutor */
+    private final Map<String, Map<String, Integer>> termsBySub = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public TrigramIndex(TutorSearchIndex tutorSearchIndex) {
+        this.tutorSearchIndex = tutorSearchIndex;
+    }
+
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (User tutor : tutorSearchIndex.allTutors()) {
+                upsert(tutor);
+            }
+            loaded = true;
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            remove(event.sub());
+        } else {
+            upsert(event.user());
+        }
+    }
+
+    /** Indexa los términos de nombre y especializaciones de un tutor */
+    public synchronized void upsert(User user) {
+        if (user == null || user.getSub() == null) {
+            return;
+        }
+        remove(user.getSub());
+        if (!isTutor(user)) {
+            return;
+        }
+        SearchFields fields = SearchFields.ensure(user);
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(fields.getName(), NAME_WEIGHT, terms);
+        addTerms(fields.getSpecializationsText(), SPECIALIZATION_WEIGHT, terms);
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            link(term.getKey(), user.getSub(), term.getValue());
+        }
+        termsBySub.put(user.getSub(), terms);
+    }
+
+    /** Retira a un tutor del índice */
+    public synchronized void remove(String sub) {
+        Map<String, Integer> terms = termsBySub.remove(sub);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            unlink(term, sub);
+        }
+    }
+
+    /**
+     * Busca los tutores con algún término similar al token
+     * @param token token de consulta normalizado
+     * @param threshold similitud mínima (0..1)
+     * @return sub -> puntaje (similitud por el peso del campo, el mejor término por tutor)
+     */
+    public Map<String, Double> similar(String token, double threshold) {
+        ensureLoaded();
+        Set<String> queryTrigrams = trigrams(token);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        Map<String, Double> result = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            Integer termTrigrams = trigramCount.get(candidate.getKey());
+            Map<String, Integer> subs = postings.get(candidate.getKey());
+            if (termTrigrams == null || subs == null) {
+                continue;
+            }
+            int common = candidate.getValue();
+            double similarity = (double) common / (queryTrigrams.size() + termTrigrams - common);
+            if (similarity < threshold) {
+                continue;
+            }
+            for (Map.Entry<String, Integer> posting : subs.entrySet()) {
+                result.merge(posting.getKey(), similarity * posting.getValue(), Math::max);
+            }
+        }
+        return result;
+    }
+
+    private void link(String term, String sub, int weight) {
+        Map<String, Integer> subs = postings.computeIfAbsent(term, t -> {
+            Set<String> termTrigrams = trigrams(t);
+            for (String trigram : termTrigrams) {
+                termsByTrigram.computeIfAbsent(trigram, k -> ConcurrentHashMap.newKeySet()).add(t);
+            }
+            trigramCount.put(t, termTrigrams.size());
+            return new ConcurrentHashMap<>();
+        });
+        subs.put(sub, weight);
+    }
+
+    private void unlink(String term, String sub) {
+        Map<String, Integer> subs = postings.get(term);
+        if (subs == null) {
+            return;
+        }
+        subs.remove(sub);
+        if (subs.isEmpty()) {
+            postings.remove(term);
+            trigramCount.remove(term);
+            for (String trigram : trigrams(term)) {
+                Set<String> terms = termsByTrigram.get(trigram);
+                if (terms != null) {
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addTerms(String text, int weight, Map<String, Integer> terms) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String term : TERM_SPLIT.split(text)) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.merge(term, weight, Math::max);
+            }
+        }
+    }
+
+    /* Trigramas del término con dos espacios de relleno al inicio y uno al final */
+    static Set<String> trigrams(String term) {
+        String padded = "  " + term + " ";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private boolean isTutor(User user) {
+        return user.getRole() != null && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
+    }
+}
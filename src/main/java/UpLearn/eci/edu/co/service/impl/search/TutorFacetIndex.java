@@ -0,0 +1,381 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.dto.SearchFacetsDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.util.SearchTextNormalizer;
+
+/**
+ * Índice de facetas del catálogo de tutores basado en bitsets.
+ * <p>
+ * Cada tutor recibe un ordinal denso. Al retirarse, el tutor conserva su ordinal (así
+ * quien procese el mismo evento después todavía lo encuentra) hasta que un tutor nuevo
+ * lo reutiliza; el tamaño de los bitsets depende del máximo de tutores simultáneos y no
+ * de todos los que alguna vez se indexaron. Una búsqueda en curso puede ver un ordinal
+ * reasignado, pero la caché de resultados no guarda páginas calculadas durante un
+ * cambio (generaciones de {@link SearchResultCache}). Por cada especialización se guarda un bitset de tutores y otro de tutores
+ * con esa especialización verificada; además hay bitsets de tutores verificados, un
+ * mapa ordenado tarifa -> bitset para los rangos de precio y un bitset por rango de
+ * tarifa publicado. Filtrar es intersecar bitsets y contar una faceta es la
+ * cardinalidad de una intersección, sin recorrer documentos.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class TutorFacetIndex {
+
+    /** Límites inferiores de los rangos de tarifa publicados como faceta (el último es abierto) */
+    public static final int[] PRICE_BUCKET_BOUNDS = {0, 10, 20, 40, 80};
+    private static final String ROLE_TUTOR = "TUTOR";
+
+    private final TutorSearchIndex tutorSearchIndex;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* sub -> ordinal (se lee sin bloqueo desde el scorer) */
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+    /* ordinal -> sub */
+    private final List<String> subs = new ArrayList<>();
+
+    private final BitSet live = new BitSet();
+    /* ordinales de tutores retirados, libres para un tutor nuevo */
+    private final BitSet retired = new BitSet();
+    private final BitSet verified = new BitSet();
+    private final BitSet anyVerifiedSpecialization = new BitSet();
+    /* especialización normalizada -> bitsets */
+    private final Map<String, SpecializationFacet> specializations = new HashMap<>();
+    /* tarifa -> tutores con esa tarifa */
+    private final TreeMap<Integer, BitSet> byPrice = new TreeMap<>();
+    private final BitSet[] priceBuckets = new BitSet[PRICE_BUCKET_BOUNDS.length];
+    /* sub -> lo indexado del tutor (para poder retirarlo) */
+    private final Map<String, Indexed> indexed = new HashMap<>();
+
+    private volatile boolean loaded = false;
+
+    public TutorFacetIndex(TutorSearchIndex tutorSearchIndex) {
+        this.tutorSearchIndex = tutorSearchIndex;
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceBuckets[i] = new BitSet();
+        }
+    }
+
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (User tutor : tutorSearchIndex.allTutors()) {
+                upsert(tutor);
+            }
+            loaded = true;
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            remove(event.sub());
+        } else {
+            upsert(event.user());
+        }
+    }
+
+    /** Registra las facetas de un tutor; si ya no es tutor lo retira */
+    public void upsert(User user) {
+        if (user == null || user.getSub() == null) {
+            return;
+        }
+        if (!isTutor(user)) {
+            remove(user.getSub());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int ord = ordinalFor(user.getSub());
+            clear(user.getSub(), ord);
+
+            Set<String> specs = new HashSet<>();
+            if (user.getSpecializations() != null) {
+                for (Specialization spec : user.getSpecializations()) {
+                    if (spec == null || spec.getName() == null || spec.getName().isBlank()) {
+                        continue;
+                    }
+                    String key = SearchTextNormalizer.normalize(spec.getName().trim());
+                    SpecializationFacet facet = specializations.computeIfAbsent(key,
+                            k -> new SpecializationFacet(spec.getName().trim()));
+                    facet.tutors.set(ord);
+                    if (spec.isVerified()) {
+                        facet.verified.set(ord);
+                        anyVerifiedSpecialization.set(ord);
+                    }
+                    specs.add(key);
+                }
+            }
+            if (user.isVerified()) {
+                verified.set(ord);
+            }
+            Integer price = user.getTokensPerHour();
+            if (price != null) {
+                byPrice.computeIfAbsent(price, p -> new BitSet()).set(ord);
+                int bucket = bucketOf(price);
+                if (bucket >= 0) {
+                    priceBuckets[bucket].set(ord);
+                }
+            }
+            live.set(ord);
+            indexed.put(user.getSub(), new Indexed(specs, price));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Retira las facetas de un tutor (el ordinal se conserva hasta que otro tutor lo reutilice) */
+    public void remove(String sub) {
+        Integer ord = ordinals.get(sub);
+        if (ord == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            clear(sub, ord);
+            retired.set(ord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ordinal del tutor, o -1 si no está indexado ni conserva el ordinal de cuando lo estuvo */
+    public int ordinal(String sub) {
+        ensureLoaded();
+        Integer ord = sub == null ? null : ordinals.get(sub);
+        return ord == null ? -1 : ord;
+    }
+
+    /**
+     * Tutores que cumplen los filtros
+     * @return bitset de ordinales, o null si el filtro no tiene criterios
+     */
+    public BitSet filter(TutorSearchFilterDTO filter) {
+        if (filter == null || !filter.hasCriteria()) {
+            return null;
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) live.clone();
+            SpecializationFacet spec = null;
+            if (filter.getSpecialization() != null && !filter.getSpecialization().isBlank()) {
+                spec = specializations.get(SearchTextNormalizer.normalize(filter.getSpecialization().trim()));
+                if (spec == null) {
+                    return new BitSet();
+                }
+                result.and(spec.tutors);
+            }
+            if (filter.getVerified() != null) {
+                apply(result, verified, filter.getVerified());
+            }
+            if (filter.getVerifiedSpecialization() != null) {
+                apply(result, spec != null ? spec.verified : anyVerifiedSpecialization, filter.getVerifiedSpecialization());
+            }
+            if (filter.getMinTokensPerHour() != null || filter.getMaxTokensPerHour() != null) {
+                int min = filter.getMinTokensPerHour() == null ? Integer.MIN_VALUE : filter.getMinTokensPerHour();
+                int max = filter.getMaxTokensPerHour() == null ? Integer.MAX_VALUE : filter.getMaxTokensPerHour();
+                BitSet priced = new BitSet();
+                if (min <= max) {
+                    for (BitSet tutors : byPrice.subMap(min, true, max, true).values()) {
+                        priced.or(tutors);
+                    }
+                }
+                result.and(priced);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Subs de los ordinales marcados */
+    public List<String> subs(BitSet ords) {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>(ords.cardinality());
+            for (int i = ords.nextSetBit(0); i >= 0; i = ords.nextSetBit(i + 1)) {
+                result.add(subs.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Conteos por especialización y por rango de tarifa sobre los tutores marcados */
+    public SearchFacetsDTO facets(BitSet matched) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<String, Integer>> specCounts = new ArrayList<>();
+            for (SpecializationFacet facet : specializations.values()) {
+                int count = intersectionSize(facet.tutors, matched);
+                if (count > 0) {
+                    specCounts.add(Map.entry(facet.display, count));
+                }
+            }
+            specCounts.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> bySpecialization = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> e : specCounts) {
+                bySpecialization.put(e.getKey(), e.getValue());
+            }
+
+            Map<String, Integer> byBucket = new LinkedHashMap<>();
+            for (int i = 0; i < priceBuckets.length; i++) {
+                byBucket.put(bucketLabel(i), intersectionSize(priceBuckets[i], matched));
+            }
+            return new SearchFacetsDTO(bySpecialization, byBucket);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Etiqueta del rango de tarifa i (ej: "10-19" o "80+") */
+    public static String bucketLabel(int i) {
+        if (i == PRICE_BUCKET_BOUNDS.length - 1) {
+            return PRICE_BUCKET_BOUNDS[i] + "+";
+        }
+        return PRICE_BUCKET_BOUNDS[i] + "-" + (PRICE_BUCKET_BOUNDS[i + 1] - 1);
+    }
+
+    /* Rango de tarifa del precio, o -1 si es menor que el primer límite */
+    private static int bucketOf(int price) {
+        for (int i = PRICE_BUCKET_BOUNDS.length - 1; i >= 0; i--) {
+            if (price >= PRICE_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void apply(BitSet result, BitSet bits, boolean include) {
+        if (include) {
+            result.and(bits);
+        } else {
+            result.andNot(bits);
+        }
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet copy = (BitSet) a.clone();
+        copy.and(b);
+        return copy.cardinality();
+    }
+
+    /* Ordinal del tutor: el suyo, uno libre de un tutor retirado o uno nuevo (con el bloqueo de escritura) */
+    private int ordinalFor(String sub) {
+        Integer ord = ordinals.get(sub);
+        if (ord != null) {
+            retired.clear(ord);
+            return ord;
+        }
+        ord = retired.nextSetBit(0);
+        if (ord >= 0) {
+            retired.clear(ord);
+            ordinals.remove(subs.get(ord));
+            subs.set(ord, sub);
+        } else {
+            ord = subs.size();
+            subs.add(sub);
+        }
+        ordinals.put(sub, ord);
+        return ord;
+    }
+
+    /** Cantidad de ordinales asignados (tutores indexados más los retirados aún sin reutilizar) */
+    public int ordinalCount() {
+        lock.readLock().lock();
+        try {
+            return subs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* Limpia los bits del tutor; se llama con el bloqueo de escritura tomado */
+    private void clear(String sub, int ord) {
+        Indexed previous = indexed.remove(sub);
+        live.clear(ord);
+        verified.clear(ord);
+        anyVerifiedSpecialization.clear(ord);
+        for (BitSet bucket : priceBuckets) {
+            bucket.clear(ord);
+        }
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.specializations()) {
+            SpecializationFacet facet = specializations.get(key);
+            if (facet != null) {
+                facet.tutors.clear(ord);
+                facet.verified.clear(ord);
+                if (facet.tutors.isEmpty()) {
+                    specializations.remove(key);
+                }
+            }
+        }
+        if (previous.price() != null) {
+            BitSet tutors = byPrice.get(previous.price());
+            if (tutors != null) {
+                tutors.clear(ord);
+                if (tutors.isEmpty()) {
+                    byPrice.remove(previous.price());
+                }
+            }
+        }
+    }
+
+    private boolean isTutor(User user) {
+        return user.getRole() != null && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
+    }
+
+    /* Bitsets de una especialización */
+    private static final class SpecializationFacet {
+        final String display;
+        final BitSet tutors = new BitSet();
+        final BitSet verified = new BitSet();
+
+        SpecializationFacet(String display) {
+            this.display = display;
+        }
+    }
+
+    /* Especializaciones y tarifa indexadas de un tutor */
+    private record Indexed(Set<String> specializations, Integer price) {
+    }
+}
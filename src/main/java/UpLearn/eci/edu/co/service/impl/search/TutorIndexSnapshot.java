@@ -0,0 +1,251 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+
+/**
+ * Snapshot binario del catálogo de tutores del índice de búsqueda en disco local.
+ * <p>
+ * Guarda, por tutor, los mismos campos que trae la proyección de listados más los
+ * campos de búsqueda ya normalizados, de modo que al arrancar se reconstruye el índice
+ * sin leer la colección de usuarios. El archivo se escribe en uno temporal y se mueve
+ * de forma atómica; se lee mapeado en memoria y se valida con un CRC32 al final.
+ * <p>
+ * Formato (big endian): magic, versión, fecha de escritura, marca de agua
+ * ({@code lastModified} máximo incluido), cantidad de registros, registros y CRC32.
+ * <p>
+ * El archivo contiene datos personales en claro (nombres, biografías y URLs de
+ * credenciales): una ruta relativa se resuelve dentro de {@code app.data-dir} y, en
+ * sistemas POSIX, el archivo y los directorios que se crean solo son accesibles por el
+ * dueño del proceso.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class TutorIndexSnapshot {
+
+    private static final int MAGIC = 0x55504C58; // "UPLX"
+    private static final short VERSION = 1;
+    private static final int TRAILER_BYTES = Long.BYTES;
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+    private final Path path;
+    private final boolean enabled;
+
+    /** Contenido leído de un snapshot */
+    public record Snapshot(long writtenAt, long highWaterMark, List<User> tutors) {
+    }
+
+    public TutorIndexSnapshot(@Value("${app.data-dir:${user.home}/.uplearn}") String dataDir,
+                              @Value("${search.snapshot.path:search-index.snap}") String path,
+                              @Value("${search.snapshot.enabled:true}") boolean enabled) {
+        // Una ruta absoluta se usa tal cual; una relativa queda dentro del directorio de datos
+        this.path = Path.of(dataDir).resolve(path);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * Escribe el snapshot
+     * @param tutors        tutores indexados
+     * @param highWaterMark lastModified máximo reflejado en los tutores
+     */
+    public void write(Collection<User> tutors, long highWaterMark) throws IOException {
+        boolean posix = path.getFileSystem().supportedFileAttributeViews().contains("posix");
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null && !Files.isDirectory(parent)) {
+            if (posix) {
+                Files.createDirectories(parent, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+            } else {
+                Files.createDirectories(parent);
+            }
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        // El temporal nace con permisos solo para el dueño y el movimiento atómico los conserva
+        Files.deleteIfExists(tmp);
+        if (posix) {
+            FileAttribute<Set<PosixFilePermission>> ownerOnly = PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE);
+            Files.createFile(tmp, ownerOnly);
+        }
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file), crc))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(highWaterMark);
+            List<User> copy = new ArrayList<>(tutors);
+            out.writeInt(copy.size());
+            for (User user : copy) {
+                writeUser(out, user);
+            }
+            out.flush();
+            // El CRC cubre todo lo anterior y se escribe fuera del flujo verificado
+            new DataOutputStream(file).writeLong(crc.getValue());
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee el snapshot
+     * @return el contenido, o null si no existe, es de otra versión o está dañado
+     */
+    public Snapshot read() throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + Short.BYTES + 2 * Long.BYTES + Integer.BYTES + TRAILER_BYTES) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ByteBuffer body = buffer.duplicate().limit((int) (size - TRAILER_BYTES));
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if (crc.getValue() != buffer.getLong((int) (size - TRAILER_BYTES))) {
+                return null;
+            }
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+            long writtenAt = buffer.getLong();
+            long highWaterMark = buffer.getLong();
+            int count = buffer.getInt();
+            List<User> tutors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                tutors.add(readUser(buffer));
+            }
+            return new Snapshot(writtenAt, highWaterMark, tutors);
+        }
+    }
+
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        writeString(out, user.getSub());
+        writeString(out, user.getName());
+        writeString(out, user.getBio());
+        writeStrings(out, user.getRole());
+        out.writeBoolean(user.isVerified());
+        out.writeInt(user.getTokensPerHour() == null ? -1 : user.getTokensPerHour());
+        out.writeLong(user.getLastModified() == null ? -1 : user.getLastModified());
+        List<Specialization> specs = user.getSpecializations();
+        out.writeInt(specs == null ? -1 : specs.size());
+        if (specs != null) {
+            for (Specialization spec : specs) {
+                writeString(out, spec == null ? null : spec.getName());
+                out.writeBoolean(spec != null && spec.isVerified());
+            }
+        }
+        writeStrings(out, user.getCredentials());
+        SearchFields fields = SearchFields.ensure(user);
+        writeString(out, fields.getName());
+        writeString(out, fields.getBio());
+        writeStrings(out, fields.getSpecializations());
+    }
+
+    private static User readUser(ByteBuffer in) {
+        User user = new User();
+        user.setSub(readString(in));
+        user.setName(readString(in));
+        user.setBio(readString(in));
+        user.setRole(readStrings(in));
+        user.setVerified(in.get() != 0);
+        int tokensPerHour = in.getInt();
+        user.setTokensPerHour(tokensPerHour < 0 ? null : tokensPerHour);
+        long lastModified = in.getLong();
+        user.setLastModified(lastModified < 0 ? null : lastModified);
+        int specCount = in.getInt();
+        if (specCount >= 0) {
+            List<Specialization> specs = new ArrayList<>(specCount);
+            for (int i = 0; i < specCount; i++) {
+                Specialization spec = new Specialization();
+                spec.setName(readString(in));
+                spec.setVerified(in.get() != 0);
+                specs.add(spec);
+            }
+            user.setSpecializations(specs);
+        }
+        user.setCredentials(readStrings(in));
+        String name = readString(in);
+        String bio = readString(in);
+        List<String> specializations = readStrings(in);
+        List<String> normalizedSpecs = specializations == null ? List.of() : specializations;
+        user.setSearchFields(new SearchFields(name, bio, normalizedSpecs, String.join(" ", normalizedSpecs)));
+        return user;
+    }
+
+    /* Cadena como largo en bytes (-1 = null) seguido de UTF-8 */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values == null ? -1 : values.size());
+        if (values != null) {
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
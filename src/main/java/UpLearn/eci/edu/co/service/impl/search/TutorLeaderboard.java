@@ -0,0 +1,143 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+
+/**
+ * Ranking de los mejores tutores mantenido de forma incremental.
+ * <p>
+ * Los tutores se guardan en un árbol ordenado por cantidad de credenciales y luego
+ * de especializaciones (descendente), con el sub como desempate. Cada cambio de un
+ * tutor cuesta O(log n) y el top N se publica como una lista inmutable, de modo que
+ * leerlo no requiere ordenar ni consultar Mongo.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class TutorLeaderboard {
+
+    /** Tamaño del ranking publicado */
+    public static final int TOP_SIZE = 10;
+    private static final String ROLE_TUTOR = "TUTOR";
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::credentials).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::specializations).reversed())
+            .thenComparing(Entry::sub);
+
+    private final TutorSearchIndex tutorSearchIndex;
+
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<String, Entry> entriesBySub = new HashMap<>();
+    private volatile List<TutorSummaryDTO> top = List.of();
+    private volatile boolean loaded = false;
+
+    public TutorLeaderboard(TutorSearchIndex tutorSearchIndex) {
+        this.tutorSearchIndex = tutorSearchIndex;
+    }
+
+    /** Se siembra después del índice de búsqueda, que ya tiene los tutores en memoria */
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (User tutor : tutorSearchIndex.allTutors()) {
+                place(tutor);
+            }
+            publishTop();
+            loaded = true;
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            remove(event.sub());
+        } else {
+            update(event.user());
+        }
+    }
+
+    /** Inserta o reubica un tutor en el ranking; si ya no es tutor lo retira */
+    public synchronized void update(User user) {
+        if (user == null || user.getSub() == null) {
+            return;
+        }
+        if (!isTutor(user)) {
+            remove(user.getSub());
+            return;
+        }
+        place(user);
+        publishTop();
+    }
+
+    /** Retira un tutor del ranking */
+    public synchronized void remove(String sub) {
+        Entry previous = entriesBySub.remove(sub);
+        if (previous != null) {
+            ranking.remove(previous);
+            publishTop();
+        }
+    }
+
+    /** Los mejores tutores actuales; lectura en tiempo constante */
+    public List<TutorSummaryDTO> top() {
+        ensureLoaded();
+        return top;
+    }
+
+    private void place(User user) {
+        Entry previous = entriesBySub.get(user.getSub());
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        Entry entry = new Entry(user.getSub(), count(user.getCredentials()), count(user.getSpecializations()), user);
+        ranking.add(entry);
+        entriesBySub.put(user.getSub(), entry);
+    }
+
+    /* Copia los primeros TOP_SIZE elementos del árbol (ya resumidos) a una lista inmutable */
+    private void publishTop() {
+        List<TutorSummaryDTO> snapshot = new ArrayList<>(TOP_SIZE);
+        Iterator<Entry> it = ranking.iterator();
+        while (it.hasNext() && snapshot.size() < TOP_SIZE) {
+            snapshot.add(TutorSummaries.of(it.next().user()));
+        }
+        top = List.copyOf(snapshot);
+    }
+
+    private static int count(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    private boolean isTutor(User user) {
+        return user.getRole() != null && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
+    }
+
+    private record Entry(String sub, int credentials, int specializations, User user) {
+    }
+}
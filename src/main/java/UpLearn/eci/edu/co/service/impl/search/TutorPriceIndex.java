@@ -0,0 +1,167 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+
+/**
+ * Tutores con tarifa ordenados por {@code tokensPerHour} (y sub como desempate).
+ * <p>
+ * Un rango de tarifas es un sub-conjunto del árbol y la página siguiente empieza justo
+ * después de la clave del cursor, así que listar por precio cuesta O(log n + página)
+ * en cualquier dirección. Las lecturas no bloquean (lista con saltos concurrente); las
+ * escrituras se serializan para reubicar a un tutor sin duplicarlo. Los tutores sin
+ * tarifa configurada no aparecen.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class TutorPriceIndex {
+
+    private static final String ROLE_TUTOR = "TUTOR";
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt(Entry::tokensPerHour)
+            .thenComparing(Entry::sub);
+
+    private final TutorSearchIndex tutorSearchIndex;
+
+    private final ConcurrentSkipListSet<Entry> byPrice = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<String, Entry> entriesBySub = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public TutorPriceIndex(TutorSearchIndex tutorSearchIndex) {
+        this.tutorSearchIndex = tutorSearchIndex;
+    }
+
+    /** Se siembra después del índice de búsqueda, que ya tiene los tutores en memoria */
+    @Order(10)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (User tutor : tutorSearchIndex.allTutors()) {
+                update(tutor);
+            }
+            loaded = true;
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            remove(event.sub());
+        } else {
+            update(event.user());
+        }
+    }
+
+    /** Inserta o reubica un tutor; si ya no es tutor o no tiene tarifa lo retira */
+    public synchronized void update(User user) {
+        if (user == null || user.getSub() == null) {
+            return;
+        }
+        if (!isTutor(user) || user.getTokensPerHour() == null) {
+            remove(user.getSub());
+            return;
+        }
+        Entry entry = new Entry(user.getTokensPerHour(), user.getSub(), user);
+        Entry previous = entriesBySub.put(user.getSub(), entry);
+        if (previous != null) {
+            byPrice.remove(previous);
+        }
+        byPrice.add(entry);
+    }
+
+    /** Retira un tutor */
+    public synchronized void remove(String sub) {
+        Entry previous = entriesBySub.remove(sub);
+        if (previous != null) {
+            byPrice.remove(previous);
+        }
+    }
+
+    /** Cantidad de tutores con tarifa */
+    public int size() {
+        return byPrice.size();
+    }
+
+    /**
+     * Página de tutores por tarifa
+     * @param min        tarifa mínima incluida (o null)
+     * @param max        tarifa máxima incluida (o null)
+     * @param descending true para ir de la tarifa más alta a la más baja
+     * @param pageSize   tamaño de página
+     * @param after      cursor de la página anterior (o null); su tarifa debe estar en [min, max]
+     *                   (lo valida {@link PriceCursor#decode(String, Integer, Integer)})
+     */
+    public TutorSearchPageDTO page(Integer min, Integer max, boolean descending, int pageSize, PriceCursor after) {
+        if (min != null && max != null && min > max) {
+            return toPage(List.of(), pageSize); // Rango vacío: subSet lanzaría con los extremos invertidos
+        }
+        ensureLoaded();
+        NavigableSet<Entry> range = byPrice;
+        if (min != null) {
+            range = range.tailSet(new Entry(min, "", null), true);
+        }
+        if (max != null && max < Integer.MAX_VALUE) {
+            range = range.headSet(new Entry(max + 1, "", null), false);
+        }
+        if (after != null) {
+            Entry key = new Entry(after.tokensPerHour(), after.sub(), null);
+            range = descending ? range.headSet(key, false) : range.tailSet(key, false);
+        }
+        Iterator<Entry> it = descending ? range.descendingIterator() : range.iterator();
+        List<User> users = new ArrayList<>(pageSize + 1);
+        while (it.hasNext() && users.size() <= pageSize) {
+            users.add(it.next().user());
+        }
+        return toPage(users, pageSize);
+    }
+
+    /**
+     * Arma la página a partir de hasta {@code pageSize + 1} tutores ya ordenados por
+     * tarifa; si sobra uno hay página siguiente y el cursor es el último entregado
+     */
+    public static TutorSearchPageDTO toPage(List<User> users, int pageSize) {
+        String nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            User last = users.get(pageSize - 1);
+            nextCursor = new PriceCursor(last.getTokensPerHour(), last.getSub()).encode();
+        }
+        List<TutorSummaryDTO> tutors = TutorSummaries.of(users);
+        return new TutorSearchPageDTO(tutors, tutors.size(), nextCursor, null);
+    }
+
+    private boolean isTutor(User user) {
+        return user.getRole() != null && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
+    }
+
+    private record Entry(int tokensPerHour, String sub, User user) {
+    }
+}
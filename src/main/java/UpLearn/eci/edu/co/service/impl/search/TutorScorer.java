@@ -0,0 +1,72 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.Collection;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.User;
+
+/**
+ * Motor de relevancia de la búsqueda en memoria.
+ * <p>
+ * Una consulta se prepara una vez (estadísticas del corpus, pesos por término) y la
+ * función resultante se aplica a cada candidato, posiblemente desde varios hilos.
+ * La implementación se elige con {@code search.scorer}.
+ */
+public interface TutorScorer {
+
+    /**
+     * Prepara la consulta
+     * @param phrase frase normalizada
+     * @param tokens tokens de la consulta
+     */
+    PreparedQuery prepare(String phrase, Collection<String> tokens);
+
+    /**
+     * Prepara la consulta para continuar una paginación empezada con la generación del
+     * corpus del cursor; si esas estadísticas ya no están disponibles se usan las actuales
+     */
+    default PreparedQuery resume(String phrase, Collection<String> tokens, long generation) {
+        return prepare(phrase, tokens);
+    }
+
+    /**
+     * Indica si el puntaje depende de estadísticas de todo el corpus, es decir, si el
+     * cambio de cualquier tutor puede alterar el puntaje de los demás
+     */
+    default boolean usesCorpusStats() {
+        return false;
+    }
+
+    /** Puntaje de un tutor para una consulta preparada (0 = no coincide) */
+    @FunctionalInterface
+    interface PreparedQuery {
+        double score(User tutor);
+
+        /** Generación del corpus con que se preparó, o {@link SearchCursor#NO_GENERATION} */
+        default long generation() {
+            return SearchCursor.NO_GENERATION;
+        }
+    }
+
+    /**
+     * Indica si un tutor coincide con la consulta sin calcular el puntaje: la frase o
+     * algún token aparecen en el nombre, la bio o las especializaciones
+     */
+    static boolean matches(User tutor, String phrase, Collection<String> tokens) {
+        SearchFields fields = SearchFields.ensure(tutor);
+        if (phrase != null && !phrase.isBlank() && contains(fields, phrase)) {
+            return true;
+        }
+        for (String token : tokens) {
+            if (contains(fields, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(SearchFields fields, String text) {
+        return fields.getName().contains(text) || fields.getBio().contains(text)
+                || fields.getSpecializationsText().contains(text);
+    }
+}
@@ -0,0 +1,553 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Índice invertido en memoria del catálogo de tutores.
+ * <p>
+ * Mapea los términos normalizados ({@link SearchFields}) de {@code name}, {@code bio} y
+ * {@code specializations.name} a la lista de subs de los tutores que los contienen.
+ * Como la búsqueda compara por subcadena ({@code contains}), además se mantiene un
+ * índice de sufijos de cada término: un fragmento de consulta aparece dentro de un
+ * término si y solo si es prefijo de alguno de sus sufijos, lo que se resuelve con un
+ * rango sobre un mapa ordenado. Así el costo de una consulta depende de las postings
+ * que coinciden y no del número total de usuarios.
+ * <p>
+ * También lleva las estadísticas de corpus que usa el puntaje de relevancia: cantidad
+ * de tutores, largo total (en términos) de cada campo para las normas de longitud, y la
+ * frecuencia de documento de cada término, que es el tamaño de su posting y por lo tanto
+ * se mantiene con cada alta o baja sin recorrer nada al consultar. Una generación del
+ * corpus cambia con cada modificación de esas estadísticas (impar mientras se aplica),
+ * para que el puntaje pueda fijar las de una página y continuar la paginación con ellas;
+ * y una versión del catálogo (suma de huellas de (sub, lastModified) de cada tutor) que
+ * no depende del orden de llegada de los cambios, así que coincide entre réplicas con
+ * el mismo contenido y sirve como ETag de la búsqueda.
+ * <p>
+ * Se construye al arrancar la aplicación y se actualiza con cada
+ * {@link UserChangedEvent} publicado por el repositorio. Para no recorrer toda la
+ * colección en cada arranque, el catálogo indexado se guarda periódicamente (y al
+ * apagar) en un {@link TutorIndexSnapshot}; al cargar se parte de él y solo se leen los
+ * documentos modificados después de su marca de agua ({@code lastModified}), más los
+ * subs de los tutores actuales para retirar los eliminados.
+ */
+@Component
+@ConditionalOnMemorySearch
+public class TutorSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TutorSearchIndex.class);
+    private static final Pattern TERM_SPLIT = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final String ROLE_TUTOR = "TUTOR";
+    /* Margen sobre la marca de agua por relojes desfasados entre instancias */
+    private static final long CATCH_UP_MARGIN_MS = 60_000;
+
+    private final UserMongoRepository userMongoRepository;
+    private final TutorIndexSnapshot snapshot;
+
+    /* sub -> documento del tutor */
+    private final Map<String, User> tutors = new ConcurrentHashMap<>();
+    /* término -> subs de tutores que lo contienen */
+    private final ConcurrentNavigableMap<String, Set<String>> postings = new ConcurrentSkipListMap<>();
+    /* sufijo -> términos que terminan en ese sufijo */
+    private final ConcurrentNavigableMap<String, Set<String>> suffixes = new ConcurrentSkipListMap<>();
+    /* sub -> términos indexados para ese tutor (para poder retirarlo) */
+    private final Map<String, Set<String>> termsBySub = new ConcurrentHashMap<>();
+    /* sub -> largo en términos de nombre, bio y especializaciones */
+    private final Map<String, int[]> lengthsBySub = new ConcurrentHashMap<>();
+    /* suma de los largos de cada campo sobre todos los tutores */
+    private final long[] lengthTotals = new long[3];
+    private volatile CorpusStats stats = new CorpusStats(0, 0, 0, 0);
+    /*
+     * se incrementa al empezar y al terminar cada cambio de términos o largos (solo bajo
+     * el lock); reescribir un tutor sin cambiarlos no la mueve
+     */
+    private volatile long corpusGeneration = 0;
+    /*
+     * sub -> huella con la que el tutor entró en catalogueHash. Se guarda aparte porque
+     * el User indexado es el mismo objeto que modifica quien lo guarda: al reindexarlo,
+     * su lastModified ya es el nuevo y no serviría para restar la huella anterior
+     */
+    private final Map<String, Long> fingerprints = new ConcurrentHashMap<>();
+    /* suma de las huellas de los tutores indexados */
+    private volatile long catalogueHash = 0;
+
+    private volatile boolean loaded = false;
+    /* lastModified más reciente aplicado al índice */
+    private long highWaterMark = -1;
+    /* hay cambios que el último snapshot no refleja */
+    private volatile boolean dirty = false;
+
+    public TutorSearchIndex(UserMongoRepository userMongoRepository, TutorIndexSnapshot snapshot) {
+        this.userMongoRepository = userMongoRepository;
+        this.snapshot = snapshot;
+    }
+
+    /** Construye el índice al arrancar la aplicación */
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureLoaded();
+    }
+
+    /** Carga el índice (desde el snapshot o la base de datos) si aún no se ha hecho */
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            if (!loadFromSnapshot()) {
+                try (Stream<User> stream = userMongoRepository.streamAllTutors()) {
+                    stream.forEach(this::upsert);
+                }
+                dirty = true;
+                log.info("Índice de tutores construido desde la base de datos: {} tutores, {} términos en {} ms",
+                        tutors.size(), postings.size(), System.currentTimeMillis() - start);
+            } else {
+                log.info("Índice de tutores construido desde el snapshot: {} tutores, {} términos en {} ms",
+                        tutors.size(), postings.size(), System.currentTimeMillis() - start);
+            }
+            loaded = true;
+        }
+    }
+
+    /* Carga el snapshot y se pone al día con la base de datos; false si no hay snapshot utilizable */
+    private boolean loadFromSnapshot() {
+        if (!snapshot.isEnabled()) {
+            return false;
+        }
+        TutorIndexSnapshot.Snapshot stored;
+        try {
+            stored = snapshot.read();
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo leer el snapshot del índice {}: {}", snapshot.path(), e.getMessage());
+            return false;
+        }
+        if (stored == null) {
+            return false;
+        }
+        stored.tutors().forEach(this::upsert);
+        highWaterMark = Math.max(highWaterMark, stored.highWaterMark());
+
+        // Cambios posteriores al snapshot (incluye usuarios que dejaron de ser tutores)
+        int changed = 0;
+        try (Stream<User> stream = userMongoRepository.streamModifiedSince(stored.highWaterMark() - CATCH_UP_MARGIN_MS)) {
+            for (User user : (Iterable<User>) stream::iterator) {
+                upsert(user);
+                changed++;
+            }
+        }
+        // Tutores eliminados de la colección desde el snapshot
+        Set<String> current = new HashSet<>();
+        try (Stream<User> stream = userMongoRepository.streamTutorIds()) {
+            stream.forEach(user -> current.add(user.getSub()));
+        }
+        int removed = 0;
+        for (String sub : new ArrayList<>(tutors.keySet())) {
+            if (!current.contains(sub)) {
+                remove(sub);
+                removed++;
+            }
+        }
+        dirty = changed > 0 || removed > 0;
+        log.info("Snapshot del índice cargado: {} tutores, {} cambios y {} eliminaciones posteriores",
+                stored.tutors().size(), changed, removed);
+        return true;
+    }
+
+    /** Guarda periódicamente el snapshot si el índice cambió desde el último */
+    @Scheduled(initialDelayString = "${search.snapshot.interval-ms:300000}",
+            fixedDelayString = "${search.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (loaded && dirty && snapshot.isEnabled()) {
+            saveSnapshot();
+        }
+    }
+
+    /** Guarda el snapshot al apagar la aplicación */
+    @PreDestroy
+    public void onShutdown() {
+        writeSnapshot();
+    }
+
+    private void saveSnapshot() {
+        List<User> copy;
+        long mark;
+        synchronized (this) {
+            copy = new ArrayList<>(tutors.values());
+            mark = highWaterMark;
+            dirty = false;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            snapshot.write(copy, mark);
+            log.info("Snapshot del índice guardado en {}: {} tutores en {} ms",
+                    snapshot.path(), copy.size(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            dirty = true;
+            log.warn("No se pudo guardar el snapshot del índice {}: {}", snapshot.path(), e.getMessage());
+        }
+    }
+
+    /** Mantiene el índice al día con los cambios del repositorio */
+    @Order(0)
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDelete()) {
+            remove(event.sub());
+        } else {
+            upsert(event.user());
+        }
+    }
+
+    /**
+     * Indexa (o reindexa) un usuario; si ya no es tutor se retira del índice
+     * @return true si cambiaron las estadísticas del corpus (alta, baja, términos o largos
+     *         del tutor); false si solo cambió el documento, p. ej. la tarifa o la verificación
+     */
+    public synchronized boolean upsert(User user) {
+        if (user == null || user.getSub() == null) {
+            return false;
+        }
+        dirty = true;
+        if (user.getLastModified() != null) {
+            highWaterMark = Math.max(highWaterMark, user.getLastModified());
+        }
+        if (!isTutor(user)) {
+            return remove(user.getSub());
+        }
+        String sub = user.getSub();
+        Set<String> newTerms = extractTerms(user);
+        SearchFields fields = user.getSearchFields();
+        int[] lengths = {
+                termCount(fields.getName()), termCount(fields.getBio()), termCount(fields.getSpecializationsText())};
+        Set<String> oldTerms = termsBySub.get(sub);
+        boolean corpusChanged = oldTerms == null || !oldTerms.equals(newTerms)
+                || !Arrays.equals(lengthsBySub.get(sub), lengths);
+        if (corpusChanged) {
+            corpusGeneration++;
+            for (String term : oldTerms == null ? Set.<String>of() : oldTerms) {
+                if (!newTerms.contains(term)) {
+                    unlink(term, sub);
+                }
+            }
+            for (String term : newTerms) {
+                if (oldTerms == null || !oldTerms.contains(term)) {
+                    link(term, sub);
+                }
+            }
+            termsBySub.put(sub, newTerms);
+        }
+        tutors.put(sub, user);
+        long fingerprint = fingerprint(user);
+        Long previous = fingerprints.put(sub, fingerprint);
+        catalogueHash += fingerprint - (previous == null ? 0 : previous);
+        if (corpusChanged) {
+            updateLengths(sub, lengths);
+            corpusGeneration++;
+        }
+        return corpusChanged;
+    }
+
+    /**
+     * Retira un usuario del índice
+     * @return true si estaba indexado (cambiaron las estadísticas del corpus)
+     */
+    public synchronized boolean remove(String sub) {
+        if (sub == null || !tutors.containsKey(sub)) {
+            return false;
+        }
+        corpusGeneration++;
+        Set<String> oldTerms = termsBySub.remove(sub);
+        if (oldTerms != null) {
+            dirty = true;
+            for (String term : oldTerms) {
+                unlink(term, sub);
+            }
+        }
+        tutors.remove(sub);
+        Long previous = fingerprints.remove(sub);
+        if (previous != null) {
+            catalogueHash -= previous;
+        }
+        updateLengths(sub, null);
+        corpusGeneration++;
+        return true;
+    }
+
+    /**
+     * Versión del catálogo de tutores: cambia con cada alta, baja o escritura de un
+     * tutor y es igual en todas las réplicas que indexaron los mismos documentos
+     */
+    public String catalogueVersion() {
+        ensureLoaded();
+        return Long.toHexString(catalogueHash) + "-" + tutors.size();
+    }
+
+    /* Huella de (sub, lastModified) con buena dispersión (finalizador de MurmurHash3) */
+    private static long fingerprint(User user) {
+        long h = user.getSub().hashCode() * 0x9E3779B97F4A7C15L
+                ^ (user.getLastModified() == null ? 0 : user.getLastModified());
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /* Reemplaza los largos del tutor en los totales y publica las estadísticas */
+    private void updateLengths(String sub, int[] lengths) {
+        int[] previous = lengths == null ? lengthsBySub.remove(sub) : lengthsBySub.put(sub, lengths);
+        for (int i = 0; i < lengthTotals.length; i++) {
+            lengthTotals[i] += (lengths == null ? 0 : lengths[i]) - (previous == null ? 0 : previous[i]);
+        }
+        int n = tutors.size();
+        stats = n == 0 ? new CorpusStats(0, 0, 0, 0) : new CorpusStats(n,
+                (double) lengthTotals[0] / n, (double) lengthTotals[1] / n, (double) lengthTotals[2] / n);
+    }
+
+    /**
+     * Estadísticas del corpus para las normas de longitud
+     * @param tutors                    cantidad de tutores indexados
+     * @param avgNameLength             largo medio del nombre (en términos)
+     * @param avgBioLength              largo medio de la bio
+     * @param avgSpecializationsLength  largo medio del texto de especializaciones
+     */
+    public record CorpusStats(int tutors, double avgNameLength, double avgBioLength, double avgSpecializationsLength) {
+    }
+
+    /** Estadísticas actuales del corpus */
+    public CorpusStats stats() {
+        ensureLoaded();
+        return stats;
+    }
+
+    /**
+     * Generación de las estadísticas del corpus (largos y frecuencias). Solo avanza cuando
+     * un alta, una baja o un cambio de términos o largos las modifica. Es impar mientras
+     * se aplica un cambio; si un lector obtiene el mismo valor par antes y después de leer
+     * las estadísticas, todo lo leído corresponde a esa generación.
+     */
+    public long corpusGeneration() {
+        return corpusGeneration;
+    }
+
+    /**
+     * Frecuencia de documento de un fragmento de consulta: la mayor entre los términos
+     * indexados que lo contienen (cota inferior de los tutores que lo contienen); si el
+     * fragmento tiene varias palabras, la menor entre sus partes. Solo lee los tamaños de
+     * las postings, sin armar el conjunto de tutores.
+     */
+    public int documentFrequency(String fragment) {
+        ensureLoaded();
+        if (fragment.chars().allMatch(Character::isLetterOrDigit)) {
+            return maxTermFrequency(fragment);
+        }
+        int df = -1;
+        for (String piece : TERM_SPLIT.split(fragment)) {
+            if (piece.isEmpty()) {
+                continue;
+            }
+            int pieceDf = maxTermFrequency(piece);
+            df = df < 0 ? pieceDf : Math.min(df, pieceDf);
+            if (df == 0) {
+                break;
+            }
+        }
+        return df < 0 ? tutors.size() : df;
+    }
+
+    /* Mayor frecuencia de documento entre los términos que contienen el fragmento */
+    private int maxTermFrequency(String fragment) {
+        int df = 0;
+        for (Set<String> terms : suffixes.subMap(fragment, true, fragment + Character.MAX_VALUE, false).values()) {
+            for (String term : terms) {
+                Set<String> termSubs = postings.get(term);
+                if (termSubs != null) {
+                    df = Math.max(df, termSubs.size());
+                }
+            }
+        }
+        return df;
+    }
+
+    /**
+     * Largo en términos de nombre, bio y especializaciones del tutor (no modificar), o
+     * null si no está indexado
+     */
+    public int[] fieldLengths(String sub) {
+        return lengthsBySub.get(sub);
+    }
+
+    /** Cantidad de términos de un texto normalizado */
+    public static int termCount(String text) {
+        return QueryTokenizer.termCount(text);
+    }
+
+    /** Todos los tutores indexados */
+    public Collection<User> allTutors() {
+        ensureLoaded();
+        return tutors.values();
+    }
+
+    /** Tutor indexado con ese sub, o null */
+    public User get(String sub) {
+        ensureLoaded();
+        return tutors.get(sub);
+    }
+
+    /** Número de tutores indexados */
+    public int size() {
+        return tutors.size();
+    }
+
+    /**
+     * Devuelve los tutores que pueden obtener puntaje para la consulta: los que
+     * contienen algún token, más los que contienen todos los fragmentos de la frase.
+     * Es un superconjunto de los resultados; el puntaje final lo decide el scorer.
+     */
+    public Collection<User> candidates(String phrase, Set<String> tokens) {
+        ensureLoaded();
+        Set<String> subs = new HashSet<>();
+        for (String token : tokens) {
+            subs.addAll(subsContaining(token));
+        }
+        if (phrase != null && !phrase.isBlank()) {
+            Set<String> phraseSubs = phraseCandidates(phrase);
+            if (phraseSubs == null) {
+                // La frase no tiene letras ni dígitos: no se puede acotar con el índice
+                return tutors.values();
+            }
+            subs.addAll(phraseSubs);
+        }
+        List<User> result = new ArrayList<>(subs.size());
+        for (String sub : subs) {
+            User user = tutors.get(sub);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    /* Intersección de los tutores que contienen cada fragmento alfanumérico de la frase */
+    private Set<String> phraseCandidates(String phrase) {
+        Set<String> result = null;
+        for (String piece : TERM_SPLIT.split(phrase)) {
+            if (piece.isEmpty()) {
+                continue;
+            }
+            Set<String> pieceSubs = subsContaining(piece);
+            if (result == null) {
+                result = pieceSubs;
+            } else {
+                result.retainAll(pieceSubs);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /* Subs de los tutores con algún término que contiene el fragmento */
+    private Set<String> subsContaining(String fragment) {
+        Set<String> subs = new HashSet<>();
+        for (Set<String> terms : suffixes.subMap(fragment, true, fragment + Character.MAX_VALUE, false).values()) {
+            for (String term : terms) {
+                Set<String> termSubs = postings.get(term);
+                if (termSubs != null) {
+                    subs.addAll(termSubs);
+                }
+            }
+        }
+        return subs;
+    }
+
+    private void link(String term, String sub) {
+        Set<String> subs = postings.get(term);
+        if (subs == null) {
+            subs = ConcurrentHashMap.newKeySet();
+            postings.put(term, subs);
+            for (int i = 0; i < term.length(); i++) {
+                suffixes.computeIfAbsent(term.substring(i), k -> ConcurrentHashMap.newKeySet()).add(term);
+            }
+        }
+        subs.add(sub);
+    }
+
+    private void unlink(String term, String sub) {
+        Set<String> subs = postings.get(term);
+        if (subs == null) {
+            return;
+        }
+        subs.remove(sub);
+        if (subs.isEmpty()) {
+            postings.remove(term);
+            for (int i = 0; i < term.length(); i++) {
+                String suffix = term.substring(i);
+                Set<String> terms = suffixes.get(suffix);
+                if (terms != null) {
+                    terms.remove(term);
+                    if (terms.isEmpty()) {
+                        suffixes.remove(suffix);
+                    }
+                }
+            }
+        }
+    }
+
+    /* Términos normalizados de nombre, bio y especializaciones */
+    private Set<String> extractTerms(User user) {
+        SearchFields fields = SearchFields.ensure(user);
+        Set<String> terms = new HashSet<>();
+        addTerms(fields.getName(), terms);
+        addTerms(fields.getBio(), terms);
+        addTerms(fields.getSpecializationsText(), terms);
+        return terms;
+    }
+
+    private void addTerms(String text, Set<String> terms) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String term : TERM_SPLIT.split(text)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+    }
+
+    private boolean isTutor(User user) {
+        return user.getRole() != null && user.getRole().stream().anyMatch(ROLE_TUTOR::equalsIgnoreCase);
+    }
+}
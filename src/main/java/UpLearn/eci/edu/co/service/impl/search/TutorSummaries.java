@@ -0,0 +1,64 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+
+/**
+ * Conversión de tutores a su vista resumida para los listados de búsqueda.
+ */
+public final class TutorSummaries {
+
+    /** Largo máximo del fragmento de biografía */
+    public static final int BIO_SNIPPET_LENGTH = 160;
+
+    private TutorSummaries() {
+    }
+
+    public static TutorSummaryDTO of(User user) {
+        TutorSummaryDTO dto = new TutorSummaryDTO();
+        dto.setSub(user.getSub());
+        dto.setName(user.getName());
+        dto.setBio(snippet(user.getBio()));
+        dto.setSpecializations(specializations(user.getSpecializations()));
+        dto.setVerified(user.isVerified());
+        dto.setTokensPerHour(user.getTokensPerHour());
+        return dto;
+    }
+
+    public static List<TutorSummaryDTO> of(List<User> users) {
+        List<TutorSummaryDTO> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(of(user));
+        }
+        return result;
+    }
+
+    private static List<TutorSummaryDTO.SpecializationSummary> specializations(List<Specialization> specs) {
+        if (specs == null || specs.isEmpty()) {
+            return List.of();
+        }
+        List<TutorSummaryDTO.SpecializationSummary> result = new ArrayList<>(specs.size());
+        for (Specialization spec : specs) {
+            if (spec != null && spec.getName() != null) {
+                result.add(new TutorSummaryDTO.SpecializationSummary(spec.getName(), spec.isVerified()));
+            }
+        }
+        return result;
+    }
+
+    /* Corta la biografía en el último espacio antes del límite */
+    private static String snippet(String bio) {
+        if (bio == null || bio.length() <= BIO_SNIPPET_LENGTH) {
+            return bio;
+        }
+        int cut = bio.lastIndexOf(' ', BIO_SNIPPET_LENGTH);
+        if (cut <= 0) {
+            cut = BIO_SNIPPET_LENGTH;
+        }
+        return bio.substring(0, cut).stripTrailing() + "…";
+    }
+}
@@ -1,12 +1,51 @@
 package UpLearn.eci.edu.co.service.interfaces;
 
 import java.util.List;
+import java.util.Map;
 
 import UpLearn.eci.edu.co.config.UserServiceException;
-import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.dto.SuggestionDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
 
 public interface SearchService {
-    List<User> searchTutors(String query) throws UserServiceException;
+    /**
+     * Búsqueda paginada de tutores con conteos de facetas.
+     * @param query  texto de búsqueda (opcional)
+     * @param size   tamaño de página (opcional)
+     * @param after  cursor devuelto por la página anterior (opcional)
+     * @param filter filtros por especialización, verificación y tarifa (opcional)
+     */
+    TutorSearchPageDTO searchTutors(String query, Integer size, String after, TutorSearchFilterDTO filter)
+            throws UserServiceException;
     
-    List<User> getTopTutors() throws UserServiceException;
+    List<TutorSummaryDTO> getTopTutors() throws UserServiceException;
+
+    /**
+     * Tutores ordenados por tarifa, con paginación por clave.
+     * @param minTokens  tarifa mínima en tokens por hora (opcional)
+     * @param maxTokens  tarifa máxima en tokens por hora (opcional)
+     * @param descending true para empezar por la tarifa más alta
+     * @param size       tamaño de página (opcional)
+     * @param after      cursor devuelto por la página anterior (opcional)
+     */
+    TutorSearchPageDTO browseTutorsByPrice(Integer minTokens, Integer maxTokens, boolean descending,
+                                           Integer size, String after) throws UserServiceException;
+
+    /**
+     * Autocompletado de especializaciones y nombres de tutores.
+     * @param prefix texto escrito hasta el momento
+     * @param limit  cantidad máxima de sugerencias (opcional)
+     */
+    List<SuggestionDTO> suggest(String prefix, Integer limit) throws UserServiceException;
+
+    /**
+     * Versión del catálogo de tutores; cambia cuando cambia cualquier resultado posible,
+     * así que sirve como ETag de la búsqueda, el ranking y el listado por tarifa
+     */
+    String catalogueVersion();
+
+    // Contadores del backend de búsqueda (aciertos/fallos/desalojos de la caché de resultados)
+    Map<String, Object> getSearchStats();
 }
@@ -3,9 +3,13 @@ package UpLearn.eci.edu.co.service.interfaces;
 import UpLearn.eci.edu.co.config.UserServiceException;
 import UpLearn.eci.edu.co.model.User;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserRepository{
     List<User> findAll();
+    List<User> findAllTutors();
+    /** Recorre los tutores con un cursor de Mongo; el llamador debe cerrar el stream */
+    Stream<User> streamAllTutors();
     User findBySub(String sub) throws UserServiceException;
     User findByName(String name) throws UserServiceException;
     boolean existsBySub(String sub);
@@ -38,6 +38,9 @@ public interface UserService {
     
     // Método para obtener perfil público por sub
     Map<String, Object> getPublicProfileBySub(String sub) throws UserServiceException;
+
+    // Versión del perfil público para ETags (lastModified, o hash del contenido si falta); lanza excepción si no existe
+    String getPublicProfileVersion(String sub) throws UserServiceException;
     
     // Método para verificar el estado de completitud del perfil
     ProfileStatusDTO getProfileStatus(String token, String role) throws UserServiceException;
@@ -1,12 +1,51 @@
 package UpLearn.eci.edu.co.service.interfaces.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.springframework.stereotype.Repository;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import UpLearn.eci.edu.co.model.User; 
 
 @Repository
 public interface UserMongoRepository extends MongoRepository<User, String>{
+    /* Rol de tutor tal como se guarda (los roles se escriben en mayúsculas, ver UserRepositoryImpl.save) */
+    String ROLE_TUTOR = "TUTOR";
+    /* Filtro por rol TUTOR (usa el índice sobre 'role') */
+    String TUTOR_ROLE_FILTER = "{ 'role': 'TUTOR' }";
+    /* Campos del resumen público de un tutor (TutorSummaryDTO) */
+    List<String> TUTOR_SUMMARY_FIELDS = List.of("name", "bio", "specializations", "isVerified", "tokensPerHour");
+    /*
+     * Proyección para listados de tutores: el resumen público más lo que usan los índices
+     * en memoria (rol, credenciales para el ranking, campos de búsqueda precalculados y
+     * la fecha de escritura para el snapshot del índice).
+     * No trae datos de contacto ni de identificación.
+     */
+    String TUTOR_LISTING_FIELDS = "{ 'name': 1, 'bio': 1, 'specializations': 1, 'isVerified': 1, 'tokensPerHour': 1, "
+            + "'role': 1, 'credentials': 1, 'searchFields': 1, 'lastModified': 1 }";
+
     User findByName(String name);
     User findBySub(String sub); // Buscar por el ID de Cognito
     boolean existsBySub(String sub); // Verificar existencia por sub
+    long deleteBySub(String sub); // Borrar por sub; devuelve cuántos documentos se eliminaron
+
+    @Query(value = TUTOR_ROLE_FILTER, fields = TUTOR_LISTING_FIELDS)
+    List<User> findAllTutors(); // Solo documentos con rol TUTOR
+
+    @Query(value = TUTOR_ROLE_FILTER, fields = TUTOR_LISTING_FIELDS)
+    Stream<User> streamAllTutors(); // Igual que findAllTutors pero recorriendo el cursor sin cargarlo completo
+
+    @Query(value = "{ 'role': 'TUTOR', 'searchFields': { $exists: false } }",
+            fields = "{ 'name': 1, 'bio': 1, 'specializations': 1 }")
+    Stream<User> streamTutorsWithoutSearchFields(); // Documentos anteriores a los campos de búsqueda precalculados
+
+    @Query(value = "{ 'lastModified': { $gt: ?0 } }", fields = TUTOR_LISTING_FIELDS)
+    Stream<User> streamModifiedSince(long since); // Cualquier rol: un usuario que dejó de ser tutor también cuenta como cambio
+
+    @Query(value = "{ 'role': { $regex: '[a-z]' } }", fields = "{ 'role': 1 }")
+    Stream<User> streamUsersWithLowerCaseRoles(); // Documentos guardados antes de normalizar los roles a mayúsculas
+
+    @Query(value = TUTOR_ROLE_FILTER, fields = "{ '_id': 1 }")
+    Stream<User> streamTutorIds(); // Solo el sub de cada tutor (para detectar eliminaciones)
 }
@@ -0,0 +1,54 @@
+package UpLearn.eci.edu.co.util;
+
+import java.security.Principal;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Usuario autenticado de la petición, decodificado una sola vez del token de Cognito
+ * por {@link CognitoTokenFilter} y publicado en el {@code SecurityContext}.
+ * Es inmutable; los servicios lo leen con {@link #current()} en lugar de volver a
+ * decodificar la cabecera Authorization.
+ *
+ * @param sub         ID único de Cognito
+ * @param email       correo del usuario
+ * @param name        nombre del usuario
+ * @param phoneNumber teléfono (opcional)
+ * @param nickname    apodo (opcional)
+ * @param expiresAt   expiración del token (epoch en segundos; 0 si no trae {@code exp})
+ */
+public record CognitoPrincipal(String sub, String email, String name, String phoneNumber, String nickname,
+                               long expiresAt) implements Principal {
+
+    /** Principal de la petición actual, o null si no hay un usuario de Cognito autenticado */
+    public static CognitoPrincipal current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CognitoPrincipal principal) {
+            return principal;
+        }
+        return null;
+    }
+
+    /** Identificador del principal para Spring Security: el sub (no el nombre de la persona) */
+    @Override
+    public String getName() {
+        return sub;
+    }
+
+    /** Indica si el token ya expiró (o no declaraba expiración) */
+    public boolean isExpired() {
+        return expiresAt <= System.currentTimeMillis() / 1000;
+    }
+
+    /** Copia con el formato que usan los servicios */
+    public CognitoTokenDecoder.CognitoUserInfo toUserInfo() {
+        CognitoTokenDecoder.CognitoUserInfo userInfo = new CognitoTokenDecoder.CognitoUserInfo();
+        userInfo.setSub(sub);
+        userInfo.setEmail(email);
+        userInfo.setName(name);
+        userInfo.setPhoneNumber(phoneNumber);
+        userInfo.setNickname(nickname);
+        return userInfo;
+    }
+}
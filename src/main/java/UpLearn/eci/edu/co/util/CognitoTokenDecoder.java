@@ -1,21 +1,79 @@
 package UpLearn.eci.edu.co.util;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
-
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decodificación y validación de los tokens de Cognito: firma RS256 (con
+ * {@link JwksKeyProvider}), emisor ({@code iss}), cliente ({@code aud} o
+ * {@code client_id}) y tipo de token ({@code token_use}). Cada comprobación se hace
+ * solo si está configurada; con {@code auth.require-verification=true} (perfil
+ * production) falta alguna y la aplicación no arranca.
+ */
 @Component
 public class CognitoTokenDecoder {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Logger log = LoggerFactory.getLogger(CognitoTokenDecoder.class);
+    private static final String JWKS_SUFFIX = "/.well-known/jwks.json";
+
+    private final TokenClaimsCache claimsCache;
+    private final JwksKeyProvider jwksKeyProvider;
+    private final String expectedIssuer;
+    private final Set<String> allowedClientIds;
+    private final String expectedTokenUse;
 
     /**
-     * Decodifica un token JWT de AWS Cognito sin verificar la firma
+     * @param issuer              iss esperado (vacío = se deduce de la URL de JWKS de Cognito)
+     * @param clientIds           app clients aceptados en aud o client_id, separados por comas
+     * @param tokenUse            token_use esperado (vacío = no se comprueba)
+     * @param requireVerification falla al arrancar si falta alguna de las comprobaciones
+     */
+    public CognitoTokenDecoder(TokenClaimsCache claimsCache, JwksKeyProvider jwksKeyProvider,
+                               @Value("${auth.cognito.issuer:}") String issuer,
+                               @Value("${auth.cognito.client-ids:}") String clientIds,
+                               @Value("${auth.cognito.token-use:id}") String tokenUse,
+                               @Value("${auth.require-verification:false}") boolean requireVerification) {
+        this.claimsCache = claimsCache;
+        this.jwksKeyProvider = jwksKeyProvider;
+        this.expectedIssuer = resolveIssuer(issuer, jwksKeyProvider.url());
+        this.allowedClientIds = Arrays.stream(clientIds == null ? new String[0] : clientIds.split(","))
+                .map(String::trim).filter(id -> !id.isEmpty()).collect(Collectors.toUnmodifiableSet());
+        this.expectedTokenUse = tokenUse == null ? "" : tokenUse.trim();
+
+        List<String> missing = new ArrayList<>();
+        if (!jwksKeyProvider.isEnabled()) {
+            missing.add("auth.jwks.url/auth.jwks.file (firma)");
+        }
+        if (expectedIssuer == null) {
+            missing.add("auth.cognito.issuer (iss)");
+        }
+        if (allowedClientIds.isEmpty()) {
+            missing.add("auth.cognito.client-ids (aud/client_id)");
+        }
+        if (!missing.isEmpty()) {
+            if (requireVerification) {
+                throw new IllegalStateException("auth.require-verification=true pero falta configurar: " + missing);
+            }
+            log.warn("Tokens de Cognito sin validación completa; falta configurar: {}", missing);
+        }
+    }
+
+    /**
+     * Decodifica un token JWT de AWS Cognito, verificando antes la firma RS256 con las
+     * claves JWKS si están configuradas
      * @param token Token JWT de Cognito
      * @return Claims del token
      * @throws JwtException si el token es inválido
@@ -27,86 +85,133 @@ public class CognitoTokenDecoder {
                 token = token.substring(7);
             }
 
-            // Parsear el token sin verificar la firma (ya que Cognito la maneja)
-            // En un entorno de producción, deberías verificar la firma con la clave pública de Cognito
-            return Jwts.parserBuilder()
+            verifySignature(token, JwtClaimsReader.Segments.of(token));
+            // La firma ya se verificó arriba; jjwt solo parsea los claims
+            Claims claims = Jwts.parserBuilder()
                     .build()
                     .parseClaimsJwt(token.substring(0, token.lastIndexOf('.') + 1))
                     .getBody();
+            checkClaims(claims.getIssuer(), claims.getAudience() == null ? List.of() : List.of(claims.getAudience()),
+                    claims.get("client_id", String.class), claims.get("token_use", String.class));
+            return claims;
         } catch (Exception e) {
             throw new JwtException("Token inválido: " + e.getMessage());
         }
     }
 
     /**
-     * Extrae información específica del usuario desde el token de Cognito
-     * @param token Token JWT de Cognito
-     * @return CognitoUserInfo con los datos del usuario
+     * Decodifica el payload del token una sola vez y devuelve el usuario con la expiración.
+     * Un token repetido y vigente sale de la caché sin volver a parsearlo ni a verificar su
+     * firma (la caché solo guarda tokens que ya pasaron la verificación).
+     * @param token Token JWT de Cognito (sin "Bearer ")
+     * @return CognitoPrincipal inmutable
+     * @throws JwtException si el token está malformado, su firma o sus claims de emisión no son válidos
+     *                      o le faltan sub, email o name
      */
-    public CognitoUserInfo extractUserInfo(String token) {
-        try {
-            // Separar las partes del JWT
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                throw new JwtException("Token JWT malformado");
-            }
-
-            // Decodificar el payload (segunda parte)
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-            JsonNode jsonNode = objectMapper.readTree(payload);
-
-            CognitoUserInfo userInfo = new CognitoUserInfo();
-            userInfo.setSub(jsonNode.get("sub").asText());
-            userInfo.setEmail(jsonNode.get("email").asText());
-            userInfo.setName(jsonNode.get("name").asText());
-            
-            // Ya no extraemos el rol del token, viene del frontend
-
-            // Teléfono opcional
-            JsonNode phoneNode = jsonNode.get("phone_number");
-            if (phoneNode != null) {
-                userInfo.setPhoneNumber(phoneNode.asText());
-            }
+    public CognitoPrincipal decodePrincipal(String token) {
+        CognitoPrincipal cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        CognitoPrincipal principal = parsePrincipal(token);
+        claimsCache.put(token, principal);
+        return principal;
+    }
 
-            // Nickname opcional
-            JsonNode nicknameNode = jsonNode.get("nickname");
-            if (nicknameNode != null) {
-                userInfo.setNickname(nicknameNode.asText());
+    private CognitoPrincipal parsePrincipal(String token) {
+        try {
+            JwtClaimsReader.Segments segments = JwtClaimsReader.Segments.of(token);
+            verifySignature(token, segments);
+            JwtClaimsReader.TokenClaims claims = JwtClaimsReader.readClaims(token, segments);
+            checkClaims(claims);
+            CognitoPrincipal principal = claims.principal();
+            // Teléfono, apodo y expiración son opcionales
+            if (principal.sub() == null || principal.email() == null || principal.name() == null) {
+                throw new JwtException("Faltan sub, email o name");
             }
-
-            return userInfo;
+            return principal;
         } catch (Exception e) {
             throw new JwtException("Error al extraer información del token: " + e.getMessage());
         }
     }
 
+    /**
+     * Extrae información específica del usuario desde el token de Cognito
+     * @param token Token JWT de Cognito
+     * @return CognitoUserInfo con los datos del usuario
+     */
+    public CognitoUserInfo extractUserInfo(String token) {
+        // Ya no extraemos el rol del token, viene del frontend
+        return decodePrincipal(token).toUserInfo();
+    }
+
     /**
      * Valida si el token no ha expirado
      * @param token Token JWT de Cognito
      * @return true si el token es válido, false si ha expirado
      */
     public boolean isTokenValid(String token) {
+        // En caché solo hay tokens vigentes
+        if (claimsCache.get(token) != null) {
+            return true;
+        }
         try {
-            String[] parts = token.split("\\.");
-            if (parts.length != 3) {
-                return false;
-            }
-
-            String payload = new String(Base64.getUrlDecoder().decode(parts[1]));
-            JsonNode jsonNode = objectMapper.readTree(payload);
-            
-            JsonNode expNode = jsonNode.get("exp");
-            if (expNode != null) {
-                long exp = expNode.asLong();
-                long currentTime = System.currentTimeMillis() / 1000;
-                return exp > currentTime;
-            }
-            return false;
+            JwtClaimsReader.Segments segments = JwtClaimsReader.Segments.of(token);
+            verifySignature(token, segments);
+            JwtClaimsReader.TokenClaims claims = JwtClaimsReader.readClaims(token, segments);
+            checkClaims(claims);
+            long currentTime = System.currentTimeMillis() / 1000;
+            return claims.principal().expiresAt() > currentTime;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /* Firma RS256 con la clave del kid de la cabecera; sin JWKS configurado no se verifica */
+    private void verifySignature(String token, JwtClaimsReader.Segments segments) throws IOException {
+        if (!jwksKeyProvider.isEnabled()) {
+            return;
+        }
+        JwtClaimsReader.Header header = JwtClaimsReader.readHeader(token, segments);
+        if (!"RS256".equals(header.alg())) {
+            throw new JwtException("Algoritmo de firma no soportado");
+        }
+        byte[] signingInput = token.substring(0, segments.secondDot()).getBytes(StandardCharsets.US_ASCII);
+        byte[] signature = JwtClaimsReader.signature(token, segments);
+        if (!jwksKeyProvider.verify(header.kid(), signingInput, signature)) {
+            throw new JwtException("Firma del token inválida");
+        }
+    }
+
+    private void checkClaims(JwtClaimsReader.TokenClaims claims) {
+        checkClaims(claims.issuer(), claims.audience(), claims.clientId(), claims.tokenUse());
+    }
+
+    /* Emisor, tipo de token y app client (aud en id tokens, client_id en tokens de acceso) */
+    private void checkClaims(String issuer, List<String> audience, String clientId, String tokenUse) {
+        if (expectedIssuer != null && !expectedIssuer.equals(issuer)) {
+            throw new JwtException("Emisor del token no válido");
+        }
+        if (!expectedTokenUse.isEmpty() && !expectedTokenUse.equals(tokenUse)) {
+            throw new JwtException("Tipo de token no válido");
+        }
+        if (!allowedClientIds.isEmpty() && (clientId == null || !allowedClientIds.contains(clientId))
+                && audience.stream().noneMatch(allowedClientIds::contains)) {
+            throw new JwtException("Audiencia del token no válida");
+        }
+    }
+
+    /* iss configurado, o el que corresponde a la URL de JWKS de un user pool de Cognito; null si no hay */
+    private static String resolveIssuer(String issuer, String jwksUrl) {
+        if (issuer != null && !issuer.isBlank()) {
+            return issuer.trim();
+        }
+        if (jwksUrl.endsWith(JWKS_SUFFIX)) {
+            return jwksUrl.substring(0, jwksUrl.length() - JWKS_SUFFIX.length());
+        }
+        return null;
+    }
+
     /**
      * Clase interna para encapsular la información del usuario desde Cognito
      */
@@ -5,6 +5,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,16 +15,26 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class CognitoTokenFilter extends OncePerRequestFilter {
 
     private final CognitoTokenDecoder cognitoTokenDecoder;
+    private final Set<String> adminSubs;
 
+    /**
+     * @param adminSubs subs de Cognito con ROLE_ADMIN (endpoints de operación), separados por comas
+     */
     @Autowired
-    public CognitoTokenFilter(CognitoTokenDecoder cognitoTokenDecoder) {
+    public CognitoTokenFilter(CognitoTokenDecoder cognitoTokenDecoder,
+                              @Value("${auth.admin-subs:}") String adminSubs) {
         this.cognitoTokenDecoder = cognitoTokenDecoder;
+        this.adminSubs = Arrays.stream(adminSubs.split(","))
+                .map(String::trim).filter(sub -> !sub.isEmpty()).collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
@@ -40,30 +51,35 @@ public class CognitoTokenFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String sub = null;
+        CognitoPrincipal principal = null;
         String jwt = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
-                // Validar que el token de Cognito sea válido
-                if (cognitoTokenDecoder != null && cognitoTokenDecoder.isTokenValid(jwt)) {
-                    CognitoTokenDecoder.CognitoUserInfo userInfo = cognitoTokenDecoder.extractUserInfo(jwt);
-                    sub = userInfo.getSub();
+                // Se decodifica una sola vez; los servicios reutilizan el principal del SecurityContext
+                if (cognitoTokenDecoder != null) {
+                    CognitoPrincipal decoded = cognitoTokenDecoder.decodePrincipal(jwt);
+                    if (!decoded.isExpired()) {
+                        principal = decoded;
+                    }
                 }
             } catch (Exception e) {
                 logger.error("Error validating Cognito token", e);
             }
         }
 
-        if (sub != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
                 List<SimpleGrantedAuthority> authorities = new ArrayList<>();
                 // Ya no usamos el rol del token, asignar rol básico
                 authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
+                if (adminSubs.contains(principal.sub())) {
+                    authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
+                }
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        sub, null, authorities);
+                        principal, null, authorities);
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -81,7 +97,6 @@ public class CognitoTokenFilter extends OncePerRequestFilter {
         return requestPath.equals("/Api-user/process-cognito-user") ||
                requestPath.equals("/Api-user/users") ||
                requestPath.equals("/Api-user/public/") ||   
-               requestPath.startsWith("/Api-search/") ||
                requestPath.equals("/Api-user/public/profile");
     }
 }
\ No newline at end of file
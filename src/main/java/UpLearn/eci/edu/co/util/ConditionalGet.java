@@ -0,0 +1,59 @@
+package UpLearn.eci.edu.co.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import UpLearn.eci.edu.co.config.UserServiceException;
+
+/**
+ * GET condicional con ETag fuerte: si el {@code If-None-Match} del cliente coincide
+ * con la versión actual se responde 304 sin calcular ni serializar el cuerpo.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /** Calcula el cuerpo de la respuesta (solo se invoca si el cliente no tiene la versión actual) */
+    @FunctionalInterface
+    public interface Body<T> {
+        T get() throws UserServiceException;
+    }
+
+    /**
+     * Responde 304 o 200 con el ETag y el Cache-Control indicados
+     * @param ifNoneMatch  valor de la cabecera If-None-Match (o null)
+     * @param version      versión del recurso; el ETag es {@code "version"}
+     * @param cacheControl política de caché para navegadores y CDN
+     * @param body         cálculo del cuerpo
+     */
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String version, CacheControl cacheControl,
+                                                Body<T> body) throws UserServiceException {
+        String etag = "\"" + version + "\"";
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    /* Comparación débil de If-None-Match (RFC 9110): lista de ETags o '*' */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
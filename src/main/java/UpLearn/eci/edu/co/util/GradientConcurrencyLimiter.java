@@ -0,0 +1,107 @@
+package UpLearn.eci.edu.co.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite adaptativo de peticiones concurrentes por gradiente de latencia.
+ * <p>
+ * Por la ley de Little, mientras el servidor no está saturado la latencia se mantiene
+ * y más concurrencia da más rendimiento; cuando se satura, la concurrencia extra solo
+ * forma cola y la latencia sube. Se compara la latencia media de cada ventana de
+ * muestras (corta) con una media móvil de largo plazo: el cociente largo/corto
+ * (acotado a [0.5, 1]) escala el límite, al que se suma un margen de cola de
+ * √límite para que pueda crecer cuando la latencia es estable. Si en la ventana nunca
+ * se usó ni la mitad del límite no se sube (la carga no lo pone a prueba).
+ */
+public final class GradientConcurrencyLimiter {
+
+    /* Peso del nuevo límite frente al anterior */
+    private static final double SMOOTHING = 0.2;
+    /* Peso de cada ventana en la media de largo plazo */
+    private static final double LONG_RTT_WEIGHT = 0.01;
+    /* Muestras mínimas por ventana */
+    private static final int MIN_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int limit;
+
+    /* Estado de la ventana y de las medias (protegido por this) */
+    private double estimatedLimit;
+    private double longRtt;
+    private long windowRttSum;
+    private int windowSamples;
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /** Reserva un lugar; false si ya hay tantas peticiones en curso como el límite */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                maxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar reservado
+     * @param rttNanos duración de la petición
+     * @param sample   false si la petición falló y su duración no representa la carga
+     */
+    public void release(long rttNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (sample) {
+            record(rttNanos);
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void record(long rttNanos) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        if (windowSamples < Math.max(MIN_WINDOW, limit)) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowSamples;
+        windowRttSum = 0;
+        windowSamples = 0;
+        int peak = maxInFlight.getAndSet(inFlight.get());
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_WEIGHT) + shortRtt * LONG_RTT_WEIGHT;
+        }
+        // Tras una sobrecarga larga la media de largo plazo quedó alta: se deja bajar más rápido
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (peak < estimatedLimit / 2) {
+            newLimit = Math.min(newLimit, estimatedLimit);
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,196 @@
+package UpLearn.eci.edu.co.util;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Claves públicas del user pool de Cognito (JWKS) para verificar la firma RS256 de los tokens.
+ * <p>
+ * Las claves se descargan de {@code auth.jwks.url} (o se leen de {@code auth.jwks.file})
+ * y se convierten a {@link PublicKey} una sola vez; quedan en un mapa inmutable por
+ * {@code kid}, así que verificar un token solo cuesta la operación RSA. Se refrescan en
+ * segundo plano cada {@code auth.jwks.refresh-interval-ms}; si llega un {@code kid}
+ * desconocido (rotación de claves) se fuerza una recarga, compartida por todas las
+ * peticiones que la esperan y como mucho una vez cada {@code auth.jwks.min-refetch-interval-ms}
+ * para que tokens con {@code kid} inventados no disparen descargas.
+ * <p>
+ * Sin URL ni archivo configurados la verificación queda desactivada (no se permite con
+ * {@code auth.require-verification=true}).
+ */
+@Component
+public class JwksKeyProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyProvider.class);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    /* Un objeto Signature por hilo: se reutiliza y solo se inicializa con la clave */
+    private static final ThreadLocal<Signature> RS256 = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance("SHA256withRSA");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build();
+    private final String url;
+    private final String file;
+    private final long minRefetchIntervalMs;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private final AtomicReference<CompletableFuture<Map<String, PublicKey>>> inFlight = new AtomicReference<>();
+    private volatile long lastFetch = 0;
+
+    public JwksKeyProvider(@Value("${auth.jwks.url:}") String url,
+                           @Value("${auth.jwks.file:}") String file,
+                           @Value("${auth.jwks.min-refetch-interval-ms:30000}") long minRefetchIntervalMs) {
+        this.url = url == null ? "" : url.trim();
+        this.file = file == null ? "" : file.trim();
+        this.minRefetchIntervalMs = minRefetchIntervalMs;
+    }
+
+    /** Indica si hay una fuente de claves configurada (si no, no se verifican firmas) */
+    public boolean isEnabled() {
+        return !url.isEmpty() || !file.isEmpty();
+    }
+
+    /** URL de JWKS configurada (vacía si no hay) */
+    public String url() {
+        return url;
+    }
+
+    /**
+     * Carga las claves al arrancar para que la primera petición no espere la descarga
+     * (la falta de configuración la reporta {@link CognitoTokenDecoder})
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isEnabled()) {
+            return;
+        }
+        refresh();
+    }
+
+    /** Refresco periódico en segundo plano */
+    @Scheduled(initialDelayString = "${auth.jwks.refresh-interval-ms:3600000}",
+            fixedDelayString = "${auth.jwks.refresh-interval-ms:3600000}")
+    public void scheduledRefresh() {
+        if (isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Verifica la firma RS256 de un token
+     * @param kid          identificador de la clave (cabecera del JWT)
+     * @param signingInput bytes ASCII de {@code header.payload}
+     * @param signature    firma decodificada de base64url
+     * @return true si la firma es válida con la clave {@code kid}
+     */
+    public boolean verify(String kid, byte[] signingInput, byte[] signature) {
+        PublicKey key = key(kid);
+        if (key == null) {
+            return false;
+        }
+        try {
+            Signature verifier = RS256.get();
+            verifier.initVerify(key);
+            verifier.update(signingInput);
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /* Clave del kid; si no se conoce, recarga (compartida y limitada en frecuencia) y vuelve a mirar */
+    private PublicKey key(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        PublicKey key = keys.get(kid);
+        if (key != null || System.currentTimeMillis() - lastFetch < minRefetchIntervalMs) {
+            return key;
+        }
+        return refresh().get(kid);
+    }
+
+    /**
+     * Recarga las claves; si ya hay una recarga en curso se espera esa misma
+     * @return las claves vigentes (las anteriores si la recarga falló)
+     */
+    public Map<String, PublicKey> refresh() {
+        CompletableFuture<Map<String, PublicKey>> mine = new CompletableFuture<>();
+        CompletableFuture<Map<String, PublicKey>> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            Map<String, PublicKey> loaded = parse(objectMapper.readTree(fetch()));
+            keys = loaded;
+            log.info("Claves JWKS cargadas: {}", loaded.keySet());
+        } catch (Exception e) {
+            log.error("No se pudieron cargar las claves JWKS: {}", e.getMessage());
+        } finally {
+            lastFetch = System.currentTimeMillis();
+            mine.complete(keys);
+            inFlight.set(null);
+        }
+        return keys;
+    }
+
+    private String fetch() throws IOException, InterruptedException {
+        if (!file.isEmpty()) {
+            return Files.readString(Path.of(file));
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(FETCH_TIMEOUT).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " al descargar " + url);
+        }
+        return response.body();
+    }
+
+    /* Convierte las claves RSA del documento JWKS en PublicKey por kid */
+    private static Map<String, PublicKey> parse(JsonNode jwks) throws GeneralSecurityException {
+        Map<String, PublicKey> parsed = new HashMap<>();
+        KeyFactory factory = KeyFactory.getInstance("RSA");
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+            BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+            parsed.put(jwk.get("kid").asText(), factory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+        }
+        return Map.copyOf(parsed);
+    }
+}
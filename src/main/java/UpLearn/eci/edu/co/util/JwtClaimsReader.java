@@ -0,0 +1,223 @@
+package UpLearn.eci.edu.co.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Lectura de un JWT sin árbol de Jackson ni expresiones regulares.
+ * <p>
+ * Las tres partes se ubican por la posición de los puntos, cada parte se decodifica
+ * de base64url directamente desde el texto del token a un arreglo de bytes, y sobre
+ * esos bytes se recorre el JSON con un {@link JsonParser} tomando solo los campos que
+ * interesan y saltando el resto (grupos, scopes, etc.) sin materializarlos.
+ */
+public final class JwtClaimsReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /* carácter base64url -> valor de 6 bits (-1 = inválido) */
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private JwtClaimsReader() {
+    }
+
+    /**
+     * Posiciones de los puntos de un token {@code header.payload.signature}
+     * @param firstDot  fin de la cabecera
+     * @param secondDot fin del payload
+     */
+    public record Segments(int firstDot, int secondDot) {
+
+        /** Ubica las partes; lanza JwtException si no son exactamente tres */
+        public static Segments of(String token) {
+            int first = token.indexOf('.');
+            int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+            if (first <= 0 || second < 0 || token.indexOf('.', second + 1) >= 0) {
+                throw new JwtException("Token JWT malformado");
+            }
+            return new Segments(first, second);
+        }
+    }
+
+    /** Algoritmo y clave de la cabecera */
+    public record Header(String alg, String kid) {
+    }
+
+    /** Lee {@code alg} y {@code kid} de la cabecera */
+    public static Header readHeader(String token, Segments segments) throws IOException {
+        byte[] json = decode(token, 0, segments.firstDot());
+        String alg = null;
+        String kid = null;
+        try (JsonParser parser = JSON.createParser(json)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "alg" -> alg = text(parser, value);
+                    case "kid" -> kid = text(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new Header(alg, kid);
+    }
+
+    /**
+     * Claims del payload que usa la aplicación
+     * @param principal usuario y expiración
+     * @param issuer    {@code iss}
+     * @param audience  {@code aud} (cadena o arreglo; vacío si no está)
+     * @param clientId  {@code client_id} (tokens de acceso)
+     * @param tokenUse  {@code token_use} ({@code id} o {@code access})
+     */
+    public record TokenClaims(CognitoPrincipal principal, String issuer, List<String> audience, String clientId,
+                              String tokenUse) {
+    }
+
+    /**
+     * Lee en una pasada sub, email, name, phone_number, nickname y exp del payload
+     * (los ausentes quedan en null; exp en 0)
+     */
+    public static CognitoPrincipal readPrincipal(String token, Segments segments) throws IOException {
+        return readClaims(token, segments).principal();
+    }
+
+    /** Como {@link #readPrincipal}, junto con los claims de emisión (iss, aud, client_id, token_use) */
+    public static TokenClaims readClaims(String token, Segments segments) throws IOException {
+        byte[] json = decode(token, segments.firstDot() + 1, segments.secondDot());
+        String sub = null;
+        String email = null;
+        String name = null;
+        String phoneNumber = null;
+        String nickname = null;
+        long exp = 0;
+        String issuer = null;
+        List<String> audience = List.of();
+        String clientId = null;
+        String tokenUse = null;
+        try (JsonParser parser = JSON.createParser(json)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "sub" -> sub = text(parser, value);
+                    case "email" -> email = text(parser, value);
+                    case "name" -> name = text(parser, value);
+                    case "phone_number" -> phoneNumber = text(parser, value);
+                    case "nickname" -> nickname = text(parser, value);
+                    case "exp" -> exp = number(parser, value);
+                    case "iss" -> issuer = text(parser, value);
+                    case "aud" -> audience = readAudience(parser, value);
+                    case "client_id" -> clientId = text(parser, value);
+                    case "token_use" -> tokenUse = text(parser, value);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new TokenClaims(new CognitoPrincipal(sub, email, name, phoneNumber, nickname, exp),
+                issuer, audience, clientId, tokenUse);
+    }
+
+    /*
+     * Valor escalar como texto. Un objeto o arreglo (claim con otra forma de la esperada)
+     * se salta entero y queda en null; si no, el parser seguiría dentro de él
+     */
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    /* Valor numérico (0 si es null, no numérico u objeto/arreglo, que se salta) */
+    private static long number(JsonParser parser, JsonToken value) throws IOException {
+        if (value.isStructStart()) {
+            parser.skipChildren();
+            return 0;
+        }
+        return value == JsonToken.VALUE_NULL ? 0 : parser.getValueAsLong();
+    }
+
+    /* aud como cadena o arreglo de cadenas (RFC 7519); lo demás se ignora */
+    private static List<String> readAudience(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return List.of(parser.getText());
+        }
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+        List<String> audience = new ArrayList<>(1);
+        JsonToken item;
+        while ((item = parser.nextToken()) != JsonToken.END_ARRAY && item != null) {
+            if (item == JsonToken.VALUE_STRING) {
+                audience.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return audience;
+    }
+
+    /** Firma decodificada */
+    public static byte[] signature(String token, Segments segments) {
+        return decode(token, segments.secondDot() + 1, token.length());
+    }
+
+    /**
+     * Decodifica base64url (sin relleno, o con él) del rango [from, to) del texto
+     * @throws JwtException si hay caracteres fuera del alfabeto
+     */
+    public static byte[] decode(String text, int from, int to) {
+        while (to > from && text.charAt(to - 1) == '=') {
+            to--;
+        }
+        int chars = to - from;
+        if (chars % 4 == 1) {
+            throw new JwtException("Base64 inválido en el token");
+        }
+        byte[] out = new byte[chars * 3 / 4];
+        int o = 0;
+        int buffer = 0;
+        int bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            int v = c < 128 ? BASE64URL[c] : -1;
+            if (v < 0) {
+                throw new JwtException("Base64 inválido en el token");
+            }
+            buffer = (buffer << 6) | v;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[o++] = (byte) (buffer >> bits);
+            }
+        }
+        return out;
+    }
+
+    private static void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JwtException("Token JWT malformado");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package UpLearn.eci.edu.co.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control de admisión de los endpoints públicos de búsqueda ({@code /Api-search/**}).
+ * <p>
+ * Antes de llegar al controlador cada petición pasa dos controles baratos:
+ * <ul>
+ *   <li>una cubeta de tokens por cliente que responde 429 a quien supera su tasa, con
+ *   {@code Retry-After}. El cliente es el {@code sub} del token si la petición viene
+ *   autenticada con firma verificada; si no, la IP del cliente, que detrás del balanceador
+ *   o la CDN sale de {@code X-Forwarded-For} ({@code server.forward-headers-strategy=native},
+ *   solo desde proxies de confianza);</li>
+ *   <li>un límite adaptativo de concurrencia global ({@link GradientConcurrencyLimiter})
+ *   que responde 503 en cuanto la latencia indica saturación.</li>
+ * </ul>
+ * Rechazar sin ocupar un hilo de búsqueda mantiene estable la latencia de las
+ * peticiones admitidas. Se desactiva con {@code search.admission.enabled=false}.
+ */
+@Component
+public class SearchAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String SEARCH_PREFIX = "/Api-search/";
+
+    private final boolean enabled;
+    private final JwksKeyProvider jwksKeyProvider;
+    private final GradientConcurrencyLimiter limiter;
+    private final StripedTokenBuckets clientBuckets;
+
+    public SearchAdmissionFilter(JwksKeyProvider jwksKeyProvider,
+                                 @Value("${search.admission.enabled:true}") boolean enabled,
+                                 @Value("${search.admission.initial-limit:20}") int initialLimit,
+                                 @Value("${search.admission.min-limit:4}") int minLimit,
+                                 @Value("${search.admission.max-limit:200}") int maxLimit,
+                                 @Value("${search.admission.client-rate:10}") double clientRate,
+                                 @Value("${search.admission.client-burst:20}") int clientBurst,
+                                 @Value("${search.admission.stripes:64}") int stripes,
+                                 @Value("${search.admission.clients-per-stripe:256}") int clientsPerStripe) {
+        this.enabled = enabled;
+        this.jwksKeyProvider = jwksKeyProvider;
+        this.limiter = new GradientConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+        this.clientBuckets = new StripedTokenBuckets(clientRate, clientBurst, stripes, clientsPerStripe);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(SEARCH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        // Preflight CORS: no llega al controlador
+        if ("OPTIONS".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long wait = clientBuckets.tryAcquire(clientKey(request), start);
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1),
+                    "Demasiadas búsquedas, intente de nuevo más tarde");
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Servicio de búsqueda saturado, intente de nuevo");
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Las fallas no cuentan como muestra de latencia (suelen ser rápidas y bajarían la media)
+            limiter.release(System.nanoTime() - start, completed && response.getStatus() < 500);
+        }
+    }
+
+    /*
+     * Cubeta del usuario autenticado o de la IP resuelta por el proxy. Sin verificación de
+     * firma el sub lo elige el cliente (podría estrenar uno por petición), así que se usa la IP
+     */
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (jwksKeyProvider.isEnabled() && authentication != null
+                && authentication.getPrincipal() instanceof CognitoPrincipal principal) {
+            return "sub:" + principal.sub();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /** Límite de concurrencia actual y peticiones en curso */
+    public int currentLimit() {
+        return limiter.limit();
+    }
+
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                               String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,42 @@
+package UpLearn.eci.edu.co.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto para búsqueda: elimina tildes y diacríticos y pasa a
+ * minúsculas, de modo que "Matemáticas" y "matematicas" se comparen igual.
+ */
+public final class SearchTextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private SearchTextNormalizer() {
+    }
+
+    /**
+     * Normaliza un texto para búsqueda
+     * @param text texto original (puede ser null)
+     * @return texto sin diacríticos y en minúsculas; cadena vacía si es null
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (isAscii(lower)) {
+            return lower;
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
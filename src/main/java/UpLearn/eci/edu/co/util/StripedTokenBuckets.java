@@ -0,0 +1,87 @@
+package UpLearn.eci.edu.co.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cubetas de tokens por cliente repartidas en franjas con su propio candado.
+ * <p>
+ * Cada cliente cae en una franja según el hash de su clave, así que dos clientes solo
+ * compiten por el candado si comparten franja. Cada franja es un LRU acotado: los
+ * clientes inactivos se desalojan y el total de memoria no depende de cuántas
+ * direcciones distintas lleguen. Un cliente desalojado vuelve con la cubeta llena, lo
+ * que es el mismo trato que recibe uno nuevo.
+ */
+public final class StripedTokenBuckets {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final double tokensPerNano;
+    private final double burst;
+
+    /**
+     * @param ratePerSecond     tokens que recupera cada cliente por segundo
+     * @param burst             tokens máximos acumulables (ráfaga permitida)
+     * @param stripes           cantidad de franjas (se redondea a potencia de dos)
+     * @param clientsPerStripe  clientes recordados por franja
+     */
+    public StripedTokenBuckets(double ratePerSecond, int burst, int stripes, int clientsPerStripe) {
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe(Math.max(1, clientsPerStripe));
+        }
+        this.mask = n - 1;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = Math.max(1, burst);
+    }
+
+    /**
+     * Consume un token del cliente
+     * @return 0 si se concedió; si no, nanosegundos hasta que haya un token disponible
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        int h = client.hashCode();
+        Stripe stripe = stripes[(h ^ (h >>> 16)) & mask];
+        synchronized (stripe) {
+            Bucket bucket = stripe.get(client);
+            if (bucket == null) {
+                bucket = new Bucket(burst, nowNanos);
+                stripe.put(client, bucket);
+            } else {
+                bucket.tokens = Math.min(burst, bucket.tokens + (nowNanos - bucket.updated) * tokensPerNano);
+                bucket.updated = nowNanos;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return tokensPerNano <= 0 ? Long.MAX_VALUE : (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updated;
+
+        Bucket(double tokens, long updated) {
+            this.tokens = tokens;
+            this.updated = updated;
+        }
+    }
+
+    /* LRU por orden de acceso */
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package UpLearn.eci.edu.co.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché acotada de tokens ya decodificados.
+ * <p>
+ * La clave es el SHA-256 del token (no se guarda el token), y el valor el
+ * {@link CognitoPrincipal} con su {@code exp}. Una entrada nunca sobrevive a la
+ * expiración de su token: al leerla se descarta si ya expiró, una tarea periódica
+ * retira las vencidas y los tokens ya expirados no se guardan. Por tamaño se descarta
+ * la menos usada (LRU). Con {@code auth.token-cache.max-entries=0} queda desactivada.
+ */
+@Component
+public class TokenClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final LinkedHashMap<Digest, CognitoPrincipal> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TokenClaimsCache(@Value("${auth.token-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Digest, CognitoPrincipal> eldest) {
+                if (size() > TokenClaimsCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /* SHA-256 del token como cuatro longs (sin crear cadenas) */
+    private record Digest(long a, long b, long c, long d) {
+
+        static Digest of(String token) {
+            MessageDigest sha = SHA256.get();
+            ByteBuffer hash = ByteBuffer.wrap(sha.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new Digest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    /** Principal del token si está en caché y no expiró; null si no */
+    public CognitoPrincipal get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        Digest key = Digest.of(token);
+        synchronized (entries) {
+            CognitoPrincipal principal = entries.get(key);
+            if (principal == null) {
+                misses.increment();
+                return null;
+            }
+            if (principal.isExpired()) {
+                entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return principal;
+        }
+    }
+
+    /** Guarda el principal decodificado del token (los ya expirados no se guardan) */
+    public void put(String token, CognitoPrincipal principal) {
+        if (maxEntries <= 0 || principal.isExpired()) {
+            return;
+        }
+        Digest key = Digest.of(token);
+        synchronized (entries) {
+            entries.put(key, principal);
+        }
+    }
+
+    /** Retira las entradas cuyo token ya expiró */
+    @Scheduled(fixedDelayString = "${auth.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis() / 1000;
+        synchronized (entries) {
+            Iterator<CognitoPrincipal> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAt() <= now) {
+                    it.remove();
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    /** Contadores de la caché */
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,105 @@
+package UpLearn.eci.edu.co.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import UpLearn.eci.edu.co.config.InvalidRequestException;
+import UpLearn.eci.edu.co.config.UserServiceException;
+import UpLearn.eci.edu.co.service.impl.SearchServiceImpl;
+import UpLearn.eci.edu.co.service.impl.search.AdditiveTutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.ParallelScorer;
+import UpLearn.eci.edu.co.service.impl.search.QueryTokenizer;
+import UpLearn.eci.edu.co.service.impl.search.SearchResultCache;
+import UpLearn.eci.edu.co.service.impl.search.SuggestionIndex;
+import UpLearn.eci.edu.co.service.impl.search.TrigramIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorFacetIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorIndexSnapshot;
+import UpLearn.eci.edu.co.service.impl.search.TutorLeaderboard;
+import UpLearn.eci.edu.co.service.impl.search.TutorPriceIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorSearchIndex;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+/**
+ * Parámetros inválidos de los listados: la excepción se resuelve con los
+ * {@code @ExceptionHandler} del controlador igual que lo hace Spring MVC.
+ */
+class SearchControllerTest {
+
+    private final ParallelScorer parallelScorer = new ParallelScorer(5000, 1);
+    private SearchController controller;
+
+    @BeforeEach
+    void setUp() {
+        TutorSearchIndex index = new TutorSearchIndex(emptyRepository(), new TutorIndexSnapshot("", "", false));
+        SearchServiceImpl service = new SearchServiceImpl(index, new TutorLeaderboard(index), new TrigramIndex(index),
+                new SuggestionIndex(index), new SearchResultCache(100, 60), new TutorFacetIndex(index), parallelScorer,
+                new AdditiveTutorScorer(), new QueryTokenizer(new String[0]), new TutorPriceIndex(index));
+        controller = new SearchController(service, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelScorer.shutdown();
+    }
+
+    @Test
+    void tamperedSearchCursorIsBadRequest() throws Exception {
+        UserServiceException error = assertThrows(UserServiceException.class, () -> controller.searchTutors(
+                "fisica", null, "garbage", null, null, null, null, null, null));
+
+        ResponseEntity<?> response = handle(error);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(Map.of("error", "Cursor de búsqueda inválido"), response.getBody());
+    }
+
+    @Test
+    void tamperedPriceCursorAndOrderAreBadRequest() throws Exception {
+        UserServiceException cursor = assertThrows(UserServiceException.class,
+                () -> controller.browseTutorsByPrice(null, null, "asc", null, "garbage", null));
+        UserServiceException order = assertThrows(UserServiceException.class,
+                () -> controller.browseTutorsByPrice(null, null, "sideways", null, null, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, handle(cursor).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, handle(order).getStatusCode());
+    }
+
+    @Test
+    void validRequestIsOk() throws Exception {
+        assertEquals(HttpStatus.OK,
+                controller.searchTutors("fisica", null, null, null, null, null, null, null, null).getStatusCode());
+    }
+
+    /* Mismo criterio que ExceptionHandlerExceptionResolver: el handler más específico para la excepción */
+    private ResponseEntity<?> handle(Exception error) throws Exception {
+        assertEquals(InvalidRequestException.class, error.getClass());
+        Method handler = new ExceptionHandlerMethodResolver(SearchController.class).resolveMethod(error);
+        assertNotNull(handler, "sin @ExceptionHandler para " + error.getClass().getSimpleName());
+        return (ResponseEntity<?>) handler.invoke(controller, error);
+    }
+
+    private static UserMongoRepository emptyRepository() {
+        return (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> List.of().stream();
+                    case "findAllTutors" -> List.of();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,187 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.impl.search.AdditiveTutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.Bm25fTutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.ParallelScorer;
+import UpLearn.eci.edu.co.service.impl.search.QueryTokenizer;
+import UpLearn.eci.edu.co.service.impl.search.SearchResultCache;
+import UpLearn.eci.edu.co.service.impl.search.SuggestionIndex;
+import UpLearn.eci.edu.co.service.impl.search.TrigramIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorFacetIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorIndexSnapshot;
+import UpLearn.eci.edu.co.service.impl.search.TutorLeaderboard;
+import UpLearn.eci.edu.co.service.impl.search.TutorPriceIndex;
+import UpLearn.eci.edu.co.service.impl.search.TutorScorer;
+import UpLearn.eci.edu.co.service.impl.search.TutorSearchIndex;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+/**
+ * Caché de resultados frente a {@link UserChangedEvent}: los eventos se entregan a los
+ * índices y al servicio en el orden de sus {@code @Order}, como lo hace Spring.
+ */
+class SearchServiceImplTest {
+
+    private final ParallelScorer parallelScorer = new ParallelScorer(5000, 1);
+    private TutorSearchIndex index;
+    private TutorFacetIndex facets;
+    private TutorPriceIndex prices;
+    private TrigramIndex trigrams;
+    private SuggestionIndex suggestions;
+    private TutorLeaderboard leaderboard;
+    private SearchResultCache cache;
+    private SearchServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        parallelScorer.shutdown();
+    }
+
+    @Test
+    void upsertOfMatchingTutorInvalidatesCachedPage() {
+        start(searchIndex -> new AdditiveTutorScorer(), tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Química"));
+        TutorSearchPageDTO first = service.searchTutors("fisica", null, null, null);
+        assertSame(first, service.searchTutors("fisica", null, null, null));
+
+        publish(UserChangedEvent.upsert(tutor("t3", "Carla Diaz", "Física")));
+
+        assertEquals(List.of("t1", "t3"), subs(service.searchTutors("fisica", null, null, null)));
+    }
+
+    @Test
+    void unrelatedChangeKeepsCachedPage() {
+        start(searchIndex -> new AdditiveTutorScorer(), tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Química"));
+        TutorSearchPageDTO quimica = service.searchTutors("quimica", null, null, null);
+
+        publish(UserChangedEvent.upsert(tutor("t3", "Carla Diaz", "Física")));
+
+        assertSame(quimica, service.searchTutors("quimica", null, null, null));
+    }
+
+    @Test
+    void tutorLeavingResultsInvalidatesPage() {
+        start(searchIndex -> new AdditiveTutorScorer(), tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Física"));
+        assertEquals(List.of("t1", "t2"), subs(service.searchTutors("fisica", null, null, null)));
+
+        // Cambia de especialización: ya no coincide, pero estaba en la página cacheada
+        publish(UserChangedEvent.upsert(tutor("t1", "Ana Gomez", "Química")));
+        assertEquals(List.of("t2"), subs(service.searchTutors("fisica", null, null, null)));
+
+        publish(UserChangedEvent.delete("t2"));
+        assertEquals(List.of(), subs(service.searchTutors("fisica", null, null, null)));
+    }
+
+    @Test
+    void nonTutorChangeIsIgnored() {
+        start(searchIndex -> new AdditiveTutorScorer(), tutor("t1", "Ana Gomez", "Física"));
+        TutorSearchPageDTO page = service.searchTutors("fisica", null, null, null);
+        User student = tutor("s1", "Sofia Fisica", "Física");
+        student.setRole(List.of("STUDENT"));
+
+        publish(UserChangedEvent.upsert(student));
+
+        assertSame(page, service.searchTutors("fisica", null, null, null));
+    }
+
+    @Test
+    void corpusStatisticsChangeInvalidatesEveryPage() {
+        // Con BM25F un alta altera el idf y los largos medios de todas las consultas
+        start(searchIndex -> new Bm25fTutorScorer(searchIndex, 0), tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Química"));
+        TutorSearchPageDTO quimica = service.searchTutors("quimica", null, null, null);
+
+        publish(UserChangedEvent.upsert(tutor("t3", "Carla Diaz", "Física")));
+
+        assertNotSame(quimica, service.searchTutors("quimica", null, null, null));
+    }
+
+    @Test
+    void changeWithoutCorpusStatisticsKeepsUnrelatedPages() {
+        // Con BM25F, cambiar solo la tarifa no mueve las estadísticas del corpus
+        start(searchIndex -> new Bm25fTutorScorer(searchIndex, 0), tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Química"));
+        TutorSearchPageDTO quimica = service.searchTutors("quimica", null, null, null);
+        TutorSearchPageDTO fisica = service.searchTutors("fisica", null, null, null);
+        long generation = index.corpusGeneration();
+        User repriced = tutor("t1", "Ana Gomez", "Física");
+        repriced.setTokensPerHour(35);
+
+        publish(UserChangedEvent.upsert(repriced));
+
+        assertEquals(generation, index.corpusGeneration());
+        assertSame(quimica, service.searchTutors("quimica", null, null, null));
+        TutorSearchPageDTO updated = service.searchTutors("fisica", null, null, null);
+        assertNotSame(fisica, updated);
+        assertEquals(Integer.valueOf(35), updated.getTutors().get(0).getTokensPerHour());
+    }
+
+    private void start(Function<TutorSearchIndex, TutorScorer> scorer, User... tutors) {
+        index = new TutorSearchIndex(repository(new ArrayList<>(List.of(tutors))), new TutorIndexSnapshot("", "", false));
+        facets = new TutorFacetIndex(index);
+        prices = new TutorPriceIndex(index);
+        trigrams = new TrigramIndex(index);
+        suggestions = new SuggestionIndex(index);
+        leaderboard = new TutorLeaderboard(index);
+        cache = new SearchResultCache(100, 60);
+        service = new SearchServiceImpl(index, leaderboard, trigrams, suggestions, cache, facets, parallelScorer,
+                scorer.apply(index), new QueryTokenizer(new String[0]), prices);
+        index.ensureLoaded();
+    }
+
+    /* Mismo orden que los @Order de los listeners: primero los índices, al final la caché */
+    private void publish(UserChangedEvent event) {
+        index.onUserChanged(event);
+        facets.onUserChanged(event);
+        prices.onUserChanged(event);
+        trigrams.onUserChanged(event);
+        suggestions.onUserChanged(event);
+        leaderboard.onUserChanged(event);
+        service.onUserChanged(event);
+    }
+
+    private static User tutor(String sub, String name, String specialization) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName(name);
+        user.setRole(List.of("TUTOR"));
+        user.setBio("Clases personalizadas");
+        user.setSpecializations(List.of(new Specialization(specialization, false, "MANUAL", null, null)));
+        user.setTokensPerHour(20);
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+
+    /* Repositorio que solo sirve la carga inicial de los índices */
+    private static UserMongoRepository repository(List<User> tutors) {
+        return (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> tutors.stream();
+                    case "findAllTutors" -> tutors;
+                    case "toString" -> "InMemoryUserMongoRepository";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static List<String> subs(TutorSearchPageDTO page) {
+        return page.getTutors().stream().map(TutorSummaryDTO::getSub).toList();
+    }
+}
@@ -0,0 +1,48 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+class UserRepositoryImplTest {
+
+    @Test
+    void rolesAreUpperCasedAndDeduplicated() {
+        assertEquals(List.of("TUTOR", "STUDENT"),
+                UserRepositoryImpl.normalizeRoles(List.of("tUTOR", " student ", "Tutor", "")));
+        assertNull(UserRepositoryImpl.normalizeRoles(null));
+    }
+
+    @Test
+    void saveStoresNormalizedRolesAndPublishesThem() {
+        List<Object> events = new ArrayList<>();
+        UserMongoRepository mongo = (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        UserRepositoryImpl repository = new UserRepositoryImpl(mongo, events::add);
+        User user = new User();
+        user.setSub("u1");
+        user.setRole(List.of("tutor"));
+
+        User saved = repository.save(user);
+
+        assertEquals(List.of("TUTOR"), saved.getRole());
+        // La lista guardada sigue siendo modificable (addRoleToUserComplete la amplía)
+        saved.getRole().add("STUDENT");
+        assertEquals(List.of(UserChangedEvent.upsert(saved)), events);
+    }
+}
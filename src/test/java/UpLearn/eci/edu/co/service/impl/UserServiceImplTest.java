@@ -0,0 +1,136 @@
+package UpLearn.eci.edu.co.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import UpLearn.eci.edu.co.config.UserServiceException;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.interfaces.UserRepository;
+
+/** Perfil público y su ETag dentro de una misma petición */
+class UserServiceImplTest {
+
+    private final Map<String, User> users = new HashMap<>();
+    private final AtomicInteger reads = new AtomicInteger();
+    private UserServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findBySub" -> {
+                        reads.incrementAndGet();
+                        yield users.get((String) args[0]);
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        service = new UserServiceImpl(repository, new RequestUserContext(repository), null, null);
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void versionAndProfileShareOneRead() {
+        users.put("t1", tutor("t1", 0x1f4L));
+
+        assertEquals("1f4", service.getPublicProfileVersion("t1"));
+        assertEquals("t1", service.getPublicProfileBySub("t1").get("sub"));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void legacyDocumentVersionFollowsContent() {
+        User legacy = tutor("t1", null);
+        users.put("t1", legacy);
+        String before = service.getPublicProfileVersion("t1");
+        assertEquals(before, service.getPublicProfileVersion("t1"));
+
+        legacy.setTokensPerHour(legacy.getTokensPerHour() + 5);
+
+        String after = service.getPublicProfileVersion("t1");
+        assertTrue(before.startsWith("h"));
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void missingUserIsRejected() {
+        assertThrows(UserServiceException.class, () -> service.getPublicProfileVersion("nadie"));
+        assertThrows(UserServiceException.class, () -> service.getPublicProfileVersion(" "));
+    }
+
+    private static User tutor(String sub, Long lastModified) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName("Ana");
+        user.setEmail("ana@example.org");
+        user.setRole(List.of("TUTOR"));
+        user.setTokensPerHour(20);
+        user.setLastModified(lastModified);
+        return user;
+    }
+
+    /* Atributos de una petición simulada, solo con alcance de petición */
+    private static final class MapRequestAttributes implements RequestAttributes {
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return "test";
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+class Bm25fTutorScorerTest {
+
+    @Test
+    void rareTermsWeighMoreThanCommonOnes() {
+        User target = tutor("t0", "Ana", "Historia", "clases fisica");
+        TutorSearchIndex index = index(target, tutor("t1", "Beto", "Historia", "clases virtuales"),
+                tutor("t2", "Carla", "Historia", "clases presenciales"), tutor("t3", "Dario", "Historia", "clases"));
+        Bm25fTutorScorer scorer = new Bm25fTutorScorer(index, 0);
+
+        double rare = score(scorer, "fisica", target);
+        double common = score(scorer, "clases", target);
+
+        assertTrue(rare > common, rare + " <= " + common);
+    }
+
+    @Test
+    void specializationsWeighMoreThanBio() {
+        User inSpecialization = tutor("t0", "Ana", "Química", "clases");
+        User inBio = tutor("t1", "Beto", "Historia", "quimica");
+        Bm25fTutorScorer scorer = new Bm25fTutorScorer(index(inSpecialization, inBio), 0);
+
+        assertTrue(score(scorer, "quimica", inSpecialization) > score(scorer, "quimica", inBio));
+    }
+
+    @Test
+    void nonMatchingTutorScoresZero() {
+        User tutor = tutor("t0", "Ana", "Historia", "clases");
+        Bm25fTutorScorer scorer = new Bm25fTutorScorer(index(tutor), 0);
+
+        assertEquals(0.0, score(scorer, "quimica", tutor));
+        assertEquals(0.0, scorer.prepare("", List.of()).score(tutor));
+    }
+
+    @Test
+    void wholePhraseEarnsBonus() {
+        User phrase = tutor("t0", "Ana", "Cálculo Integral", "clases");
+        User scattered = tutor("t1", "Beto", "Cálculo", "integral");
+        Bm25fTutorScorer scorer = new Bm25fTutorScorer(index(phrase, scattered), 0);
+
+        TutorScorer.PreparedQuery query = scorer.prepare("calculo integral", List.of("calculo", "integral"));
+
+        assertTrue(query.score(phrase) > query.score(scattered));
+    }
+
+    @Test
+    void resumeKeepsStatisticsOfTheFirstPage() {
+        User tutor = tutor("t0", "Ana", "Física", "clases");
+        TutorSearchIndex index = index(tutor, tutor("t1", "Beto", "Historia", "clases"));
+        Bm25fTutorScorer scorer = new Bm25fTutorScorer(index, 16);
+        TutorScorer.PreparedQuery first = scorer.prepare("fisica", List.of("fisica"));
+        assertEquals(index.corpusGeneration(), first.generation());
+        double before = first.score(tutor);
+
+        // Otro tutor de física cambia el idf de la consulta
+        index.upsert(tutor("t2", "Carla", "Física", "clases"));
+
+        assertEquals(before, scorer.resume("fisica", List.of("fisica"), first.generation()).score(tutor));
+        assertNotEquals(before, scorer.prepare("fisica", List.of("fisica")).score(tutor));
+    }
+
+    @Test
+    void resumeFallsBackToCurrentStatisticsWhenNotFrozen() {
+        User tutor = tutor("t0", "Ana", "Física", "clases");
+        TutorSearchIndex index = index(tutor, tutor("t1", "Beto", "Historia", "clases"));
+        Bm25fTutorScorer scorer = new Bm25fTutorScorer(index, 0);
+        long generation = scorer.prepare("fisica", List.of("fisica")).generation();
+
+        index.upsert(tutor("t2", "Carla", "Física", "clases"));
+
+        assertEquals(score(scorer, "fisica", tutor),
+                scorer.resume("fisica", List.of("fisica"), generation).score(tutor));
+        assertTrue(scorer.usesCorpusStats());
+    }
+
+    @Test
+    void documentFrequencyFollowsIndexChanges() {
+        TutorSearchIndex index = index(tutor("t0", "Ana", "Física", "clases"), tutor("t1", "Beto", "Historia", "clases"));
+        assertEquals(1, index.documentFrequency("fisica"));
+        assertEquals(2, index.documentFrequency("clases"));
+
+        index.upsert(tutor("t2", "Carla", "Física", "tutorias"));
+        assertEquals(2, index.documentFrequency("fisica"));
+
+        index.remove("t0");
+        index.remove("t0");
+        assertEquals(1, index.documentFrequency("fisica"));
+        assertEquals(1, index.documentFrequency("clases"));
+    }
+
+    private static double score(TutorScorer scorer, String term, User tutor) {
+        return scorer.prepare(term, List.of(term)).score(tutor);
+    }
+
+    private static TutorSearchIndex index(User... tutors) {
+        List<User> all = new ArrayList<>(List.of(tutors));
+        UserMongoRepository repository = (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> all.stream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        TutorSearchIndex index = new TutorSearchIndex(repository, new TutorIndexSnapshot("", "", false));
+        index.ensureLoaded();
+        return index;
+    }
+
+    private static User tutor(String sub, String name, String specialization, String bio) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName(name);
+        user.setRole(List.of("TUTOR"));
+        user.setBio(bio);
+        user.setSpecializations(List.of(new Specialization(specialization, false, "MANUAL", null, null)));
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+}
@@ -0,0 +1,104 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.User;
+
+class ParallelScorerTest {
+
+    private static final int TUTORS = 6000;
+
+    private final ParallelScorer sequential = new ParallelScorer(0, 1);
+    private final ParallelScorer parallel = new ParallelScorer(1000, 4);
+    private final List<User> tutors = tutors();
+
+    @AfterEach
+    void tearDown() {
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    void parallelMatchesSequentialAcrossCursorPages() {
+        List<String> expected = pages(sequential, 37);
+        List<String> actual = pages(parallel, 37);
+
+        // Uno de cada tres tutores no coincide
+        assertEquals(TUTORS - TUTORS / 3, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shardsMergeCountsAndMatchedOrdinals() {
+        ParallelScorer.Shard a = sequential.score(tutors, 10, null, this::score);
+        ParallelScorer.Shard b = parallel.score(tutors, 10, null, this::score);
+
+        assertEquals(a.count(), b.count());
+        assertEquals(a.matched(), b.matched());
+        assertEquals(subs(a.best().toPage()), subs(b.best().toPage()));
+    }
+
+    @Test
+    void largeCandidateSetsUseThePool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        parallel.score(tutors, 10, null, (u, shard) -> threads.add(Thread.currentThread().getName()));
+
+        assertTrue(threads.stream().anyMatch(name -> name.startsWith("search-scorer-")), threads.toString());
+    }
+
+    @Test
+    void smallCandidateSetsStayOnCallerThread() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        parallel.score(tutors.subList(0, 999), 10, null, (u, shard) -> threads.add(Thread.currentThread().getName()));
+
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+    }
+
+    /* Recorre todas las páginas siguiendo nextCursor */
+    private List<String> pages(ParallelScorer scorer, int size) {
+        List<String> visited = new ArrayList<>();
+        SearchCursor after = null;
+        do {
+            TutorSearchPageDTO page = scorer.score(tutors, size, after, this::score).best().toPage();
+            visited.addAll(subs(page));
+            after = page.getNextCursor() == null ? null : SearchCursor.decode(page.getNextCursor());
+        } while (after != null);
+        return visited;
+    }
+
+    /* Puntaje con muchos empates (se desempatan por nombre y sub); el ordinal es el índice */
+    private void score(User u, ParallelScorer.Shard shard) {
+        int i = Integer.parseInt(u.getSub().substring(1));
+        if (i % 3 != 0) {
+            shard.add(new SearchHit(u, i % 7), i);
+        }
+    }
+
+    private static List<User> tutors() {
+        List<User> result = new ArrayList<>(TUTORS);
+        for (int i = 0; i < TUTORS; i++) {
+            User user = new User();
+            user.setSub("t" + i);
+            user.setName("Tutor " + (i % 50));
+            result.add(user);
+        }
+        return result;
+    }
+
+    private static List<String> subs(TutorSearchPageDTO page) {
+        return page.getTutors().stream().map(TutorSummaryDTO::getSub).toList();
+    }
+}
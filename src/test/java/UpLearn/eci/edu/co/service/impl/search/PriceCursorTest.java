@@ -0,0 +1,57 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.config.InvalidRequestException;
+
+class PriceCursorTest {
+
+    @Test
+    void roundTrips() {
+        PriceCursor cursor = new PriceCursor(35, "sub\ncon salto");
+
+        assertEquals(cursor, PriceCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void rejectsGarbageAsInvalidRequest() {
+        assertThrows(InvalidRequestException.class, () -> PriceCursor.decode("%%%"));
+        assertThrows(InvalidRequestException.class, () -> PriceCursor.decode(new PriceCursor(1, "a").encode().substring(1)));
+    }
+
+    @Test
+    void missingCursorDecodesAsNull() {
+        assertNull(PriceCursor.decode(null, 10, 20));
+        assertNull(PriceCursor.decode("  ", 10, 20));
+    }
+
+    @Test
+    void acceptsCursorInsideRequestedRange() {
+        PriceCursor cursor = new PriceCursor(15, "a");
+
+        assertEquals(cursor, PriceCursor.decode(cursor.encode(), 10, 20));
+        assertEquals(cursor, PriceCursor.decode(cursor.encode(), 15, 15));
+        assertEquals(cursor, PriceCursor.decode(cursor.encode(), null, null));
+        assertEquals(cursor, PriceCursor.decode(cursor.encode(), null, 15));
+    }
+
+    @Test
+    void rejectsCursorOutsideRequestedRange() {
+        String after = new PriceCursor(15, "a").encode();
+
+        assertThrows(InvalidRequestException.class, () -> PriceCursor.decode(after, 16, null));
+        assertThrows(InvalidRequestException.class, () -> PriceCursor.decode(after, null, 14));
+    }
+
+    @Test
+    void invertedRangeKeepsCursor() {
+        // La página sale vacía de todos modos; el cursor no se rechaza
+        PriceCursor cursor = new PriceCursor(15, "a");
+
+        assertEquals(cursor, PriceCursor.decode(cursor.encode(), 30, 10));
+    }
+}
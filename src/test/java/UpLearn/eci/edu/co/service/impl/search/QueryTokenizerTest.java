@@ -0,0 +1,63 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class QueryTokenizerTest {
+
+    private final QueryTokenizer tokenizer = new QueryTokenizer(new String[0]);
+
+    @Test
+    void dropsShortTokensAndStopwords() {
+        assertEquals(List.of("clases", "calculo", "integral"),
+                List.copyOf(tokenizer.tokenize("clases de calculo integral para la u")));
+    }
+
+    @Test
+    void keepsFirstOccurrenceOrderWithoutRepeats() {
+        Set<String> tokens = tokenizer.tokenize("fisica, quimica; fisica!");
+
+        assertEquals(List.of("fisica", "quimica"), List.copyOf(tokens));
+    }
+
+    @Test
+    void splitsOnAnyNonLetterOrDigit() {
+        assertEquals(List.of("c3po", "2024", "año"), List.copyOf(tokenizer.tokenize("c3po-2024/año")));
+        assertTrue(tokenizer.tokenize("  ...  ").isEmpty());
+    }
+
+    @Test
+    void extraStopwordsAreNormalized() {
+        QueryTokenizer custom = new QueryTokenizer(new String[] {" Tutorías ", "", null});
+
+        assertEquals(List.of("matematicas"), List.copyOf(custom.tokenize("tutorias matematicas")));
+        assertTrue(tokenizer.tokenize("tutorias").contains("tutorias"));
+    }
+
+    @Test
+    void forEachTokenReportsRanges() {
+        List<String> ranges = new ArrayList<>();
+        String text = "en la universidad";
+
+        tokenizer.forEachToken(text, (t, start, end) -> ranges.add(start + ":" + end));
+
+        assertEquals(List.of("6:17"), ranges);
+    }
+
+    @Test
+    void countsTermsIncludingSupplementaryLetters() {
+        assertEquals(0, QueryTokenizer.termCount(null));
+        assertEquals(0, QueryTokenizer.termCount(" - "));
+        assertEquals(4, QueryTokenizer.termCount("de la a 2"));
+        assertEquals(2, QueryTokenizer.termCount("𝐀𝐁 x"));
+        assertTrue(QueryTokenizer.isTokenChar(0x1D400));
+        assertFalse(QueryTokenizer.isTokenChar('-'));
+    }
+}
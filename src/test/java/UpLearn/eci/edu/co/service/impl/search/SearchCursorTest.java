@@ -0,0 +1,59 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.config.InvalidRequestException;
+
+class SearchCursorTest {
+
+    @Test
+    void roundTripsWithoutGeneration() {
+        SearchCursor cursor = new SearchCursor(12.375, "María Gómez", "sub-1");
+
+        SearchCursor decoded = SearchCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(SearchCursor.NO_GENERATION, decoded.generation());
+    }
+
+    @Test
+    void roundTripsWithGeneration() {
+        SearchCursor cursor = new SearchCursor(0.1 + 0.2, "Ana", "sub-2", 42);
+
+        assertEquals(cursor, SearchCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void keepsScoreBitsAndUnusualNames() {
+        // Puntajes con exponente o negativos y nombres con separadores no confunden al decodificador
+        for (double score : new double[] {1e-9, -3.5, 7.0E21, 0.0, Double.MIN_VALUE}) {
+            SearchCursor cursor = new SearchCursor(score, "línea\ncon salto", "subé", 7);
+            SearchCursor decoded = SearchCursor.decode(cursor.encode());
+            assertEquals(Double.doubleToLongBits(score), Double.doubleToLongBits(decoded.score()));
+            assertEquals(cursor, decoded);
+        }
+    }
+
+    @Test
+    void decodesCursorsWrittenBeforeGenerations() {
+        String raw = "3.5\nsub-3\nLuis";
+        String legacy = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(new SearchCursor(3.5, "Luis", "sub-3"), SearchCursor.decode(legacy));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThrows(InvalidRequestException.class, () -> SearchCursor.decode("%%%"));
+        String noSeparators = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidRequestException.class, () -> SearchCursor.decode(noSeparators));
+        String badScore = Base64.getUrlEncoder().encodeToString("x\nsub\nname".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidRequestException.class, () -> SearchCursor.decode(badScore));
+    }
+}
@@ -0,0 +1,137 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+
+class SearchResultCacheTest {
+
+    @Test
+    void returnsStoredPageUntilInvalidated() {
+        SearchResultCache cache = new SearchResultCache(10, 60);
+        SearchResultCache.Key key = key("fisica");
+        TutorSearchPageDTO page = page();
+
+        assertNull(cache.get(key));
+        cache.put(key, page, matched(3), false, SearchCursor.NO_GENERATION, cache.generation());
+
+        assertSame(page, cache.get(key));
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(1L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void keyIgnoresEmptyFiltersAndBlankCursor() {
+        Set<String> tokens = Set.of("fisica");
+
+        assertEquals(SearchResultCache.Key.of("fisica", tokens, null, 20, null),
+                SearchResultCache.Key.of("fisica", tokens, new TutorSearchFilterDTO(), 20, " "));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        SearchResultCache cache = new SearchResultCache(2, 60);
+        cache.put(key("a"), page(), matched(), false, SearchCursor.NO_GENERATION, cache.generation());
+        cache.put(key("b"), page(), matched(), false, SearchCursor.NO_GENERATION, cache.generation());
+        cache.get(key("a"));
+        cache.put(key("c"), page(), matched(), false, SearchCursor.NO_GENERATION, cache.generation());
+
+        assertNull(cache.get(key("b")));
+        assertTrue(cache.get(key("a")) != null && cache.get(key("c")) != null);
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void expiresAfterTtl() {
+        SearchResultCache cache = new SearchResultCache(10, -1);
+        cache.put(key("a"), page(), matched(), false, SearchCursor.NO_GENERATION, cache.generation());
+
+        assertNull(cache.get(key("a")));
+    }
+
+    @Test
+    void disabledWithoutEntries() {
+        SearchResultCache cache = new SearchResultCache(0, 60);
+        cache.put(key("a"), page(), matched(), false, SearchCursor.NO_GENERATION, cache.generation());
+
+        assertNull(cache.get(key("a")));
+    }
+
+    @Test
+    void invalidatesOnlyAffectedPages() {
+        SearchResultCache cache = new SearchResultCache(10, 60);
+        cache.put(key("con-tutor"), page(), matched(5), false, SearchCursor.NO_GENERATION, cache.generation());
+        cache.put(key("sin-tutor"), page(), matched(1, 2), false, SearchCursor.NO_GENERATION, cache.generation());
+        cache.put(key(""), page(), matched(1), false, SearchCursor.NO_GENERATION, cache.generation());
+        cache.put(key("difusa"), page(), matched(1), true, SearchCursor.NO_GENERATION, cache.generation());
+        cache.put(key("coincide"), page(), matched(), false, SearchCursor.NO_GENERATION, cache.generation());
+
+        cache.invalidate(5, SearchCursor.NO_GENERATION, k -> k.phrase().equals("coincide"));
+
+        // Se conservan solo las páginas donde el tutor no estaba y que no lo incluirían ahora
+        assertTrue(cache.get(key("sin-tutor")) != null);
+        assertNull(cache.get(key("con-tutor")));
+        assertNull(cache.get(key("")));
+        assertNull(cache.get(key("difusa")));
+        assertNull(cache.get(key("coincide")));
+        assertEquals(4L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    void dropsPagesScoredWithAnotherCorpusGeneration() {
+        SearchResultCache cache = new SearchResultCache(10, 60);
+        cache.put(key("vigente"), page(), matched(1), false, 4, cache.generation());
+        cache.put(key("anterior"), page(), matched(1), false, 2, cache.generation());
+        cache.put(key("sin-congelar"), page(), matched(1), false, SearchCursor.NO_GENERATION, cache.generation());
+
+        cache.invalidate(5, 4, k -> false);
+
+        assertTrue(cache.get(key("vigente")) != null);
+        assertNull(cache.get(key("anterior")));
+        assertNull(cache.get(key("sin-congelar")));
+    }
+
+    @Test
+    void dropsPagesComputedBeforeAnInvalidation() {
+        SearchResultCache cache = new SearchResultCache(10, 60);
+        long generation = cache.generation();
+
+        cache.invalidate(-1, SearchCursor.NO_GENERATION, k -> false);
+        cache.put(key("a"), page(), matched(), false, SearchCursor.NO_GENERATION, generation);
+
+        assertNull(cache.get(key("a")));
+    }
+
+    private static SearchResultCache.Key key(String phrase) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : phrase.split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return SearchResultCache.Key.of(phrase, tokens, null, 20, null);
+    }
+
+    private static TutorSearchPageDTO page() {
+        return new TutorSearchPageDTO(List.of(), 0, null, null);
+    }
+
+    private static BitSet matched(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,113 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TermMatcherTest {
+
+    @Test
+    void countsOverlappingTermsInOnePass() {
+        TermMatcher matcher = TermMatcher.of(List.of("he", "she", "his", "hers"));
+        int[] counts = new int[4];
+
+        matcher.count("ushers and his sheep", counts, 0);
+
+        assertArrayEquals(new int[] {2, 2, 1, 1}, counts);
+        assertEquals(4, matcher.size());
+    }
+
+    @Test
+    void countsRepeatedAndSelfOverlappingOccurrences() {
+        TermMatcher matcher = TermMatcher.of(List.of("aa", "a"));
+        int[] counts = new int[2];
+
+        matcher.count("aaaa", counts, 0);
+
+        assertArrayEquals(new int[] {3, 4}, counts);
+    }
+
+    @Test
+    void writesAtOffsetAndAccumulates() {
+        TermMatcher matcher = TermMatcher.of(List.of("fisica", "calculo"));
+        int[] counts = new int[6];
+
+        matcher.count("fisica", counts, 0);
+        matcher.count("calculo y fisica", counts, 2);
+        matcher.count("fisica", counts, 2);
+
+        assertArrayEquals(new int[] {1, 0, 2, 1, 0, 0}, counts);
+    }
+
+    @Test
+    void ignoresEmptyTermsNullTextAndForeignCharacters() {
+        TermMatcher matcher = TermMatcher.of(List.of("", "ab"));
+        int[] counts = new int[2];
+
+        matcher.count(null, counts, 0);
+        matcher.count("a#b ab zab", counts, 0);
+
+        assertArrayEquals(new int[] {0, 2}, counts);
+        int[] none = new int[1];
+        TermMatcher.of(List.of("")).count("abc", none, 0);
+        assertArrayEquals(new int[] {0}, none);
+    }
+
+    @Test
+    void matchesNaiveCountOnRandomText() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<String> terms = new ArrayList<>();
+            for (int t = 1 + random.nextInt(5); t > 0; t--) {
+                terms.add(randomText(random, 1 + random.nextInt(4)));
+            }
+            String text = randomText(random, random.nextInt(60));
+            int[] counts = new int[terms.size()];
+
+            TermMatcher.of(terms).count(text, counts, 0);
+
+            for (int i = 0; i < terms.size(); i++) {
+                assertEquals(naiveCount(text, terms.get(i)), counts[i], terms + " en '" + text + "'");
+            }
+        }
+    }
+
+    @Test
+    void countsBufferIsZeroedReusedAndGrows() {
+        int[] first = TermMatcher.countsBuffer(4);
+        first[0] = 5;
+        first[3] = 7;
+
+        int[] again = TermMatcher.countsBuffer(4);
+        assertSame(first, again);
+        assertArrayEquals(new int[] {0, 0, 0, 0}, Arrays.copyOf(again, 4));
+
+        int[] larger = TermMatcher.countsBuffer(first.length + 1);
+        assertTrue(larger.length > first.length);
+        assertSame(larger, TermMatcher.countsBuffer(1));
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("abc ".charAt(random.nextInt(4)));
+        }
+        return sb.toString();
+    }
+
+    private static int naiveCount(String text, String term) {
+        int count = 0;
+        for (int i = text.indexOf(term); i >= 0; i = text.indexOf(term, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,135 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.User;
+
+class TopKCollectorTest {
+
+    @Test
+    void resolvesPageSize() {
+        assertEquals(TopKCollector.DEFAULT_PAGE_SIZE, TopKCollector.resolvePageSize(null));
+        assertEquals(TopKCollector.DEFAULT_PAGE_SIZE, TopKCollector.resolvePageSize(0));
+        assertEquals(TopKCollector.DEFAULT_PAGE_SIZE, TopKCollector.resolvePageSize(-5));
+        assertEquals(7, TopKCollector.resolvePageSize(7));
+        assertEquals(TopKCollector.MAX_PAGE_SIZE, TopKCollector.resolvePageSize(10_000));
+    }
+
+    @Test
+    void keepsBestHitsInRankingOrder() {
+        TopKCollector collector = new TopKCollector(3, null);
+        collector.offer(hit("a", "Ana", 1.0));
+        collector.offer(hit("b", "Beto", 5.0));
+        collector.offer(hit("c", "Carla", 3.0));
+        collector.offer(hit("d", "Diana", 4.0));
+        collector.offer(hit("e", "Eva", 2.0));
+
+        TutorSearchPageDTO page = collector.toPage();
+
+        assertEquals(List.of("b", "d", "c"), subs(page));
+        assertEquals(3, page.getSize());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void breaksTiesByNameThenSub() {
+        TopKCollector collector = new TopKCollector(10, null);
+        collector.offer(hit("z", "Ana", 1.0));
+        collector.offer(hit("y", "Beto", 1.0));
+        collector.offer(hit("x", "Ana", 1.0));
+        collector.offer(hit("w", null, 1.0));
+
+        assertEquals(List.of("w", "x", "z", "y"), subs(collector.toPage()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        TopKCollector collector = new TopKCollector(3, null);
+        collector.offer(hit("a", "Ana", 1.0));
+        collector.offer(hit("b", "Beto", 2.0));
+
+        TutorSearchPageDTO page = collector.toPage();
+
+        assertEquals(List.of("b", "a"), subs(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void exactlyFullPageHasNoCursor() {
+        TopKCollector collector = new TopKCollector(2, null);
+        collector.offer(hit("a", "Ana", 1.0));
+        collector.offer(hit("b", "Beto", 2.0));
+
+        assertNull(collector.toPage().getNextCursor());
+    }
+
+    @Test
+    void pagesWithCursorVisitEveryHitOnce() {
+        // Con empates de puntaje para ejercitar el desempate por nombre y sub
+        Random random = new Random(7);
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = 0; i < 57; i++) {
+            hits.add(hit("sub-" + i, "Tutor " + random.nextInt(10), random.nextInt(5)));
+        }
+        List<SearchHit> expected = new ArrayList<>(hits);
+        expected.sort(SearchHit.RANKING);
+
+        List<String> visited = new ArrayList<>();
+        SearchCursor after = null;
+        do {
+            TopKCollector collector = new TopKCollector(10, after);
+            hits.forEach(collector::offer);
+            TutorSearchPageDTO page = collector.toPage();
+            visited.addAll(subs(page));
+            after = page.getNextCursor() == null ? null : SearchCursor.decode(page.getNextCursor());
+        } while (after != null);
+
+        assertEquals(expected.stream().map(SearchHit::sub).toList(), visited);
+    }
+
+    @Test
+    void mergesPartitions() {
+        TopKCollector left = new TopKCollector(2, null);
+        TopKCollector right = new TopKCollector(2, null);
+        left.offer(hit("a", "Ana", 1.0));
+        left.offer(hit("b", "Beto", 4.0));
+        right.offer(hit("c", "Carla", 3.0));
+        right.offer(hit("d", "Diana", 5.0));
+
+        left.merge(right);
+
+        assertEquals(List.of("d", "b"), subs(left.toPage()));
+    }
+
+    @Test
+    void cursorCarriesGeneration() {
+        TopKCollector collector = new TopKCollector(1, null);
+        collector.offer(hit("a", "Ana", 1.0));
+        collector.offer(hit("b", "Beto", 2.0));
+
+        SearchCursor next = SearchCursor.decode(collector.toPage(9).getNextCursor());
+
+        assertEquals(new SearchCursor(2.0, "Beto", "b", 9), next);
+    }
+
+    private static SearchHit hit(String sub, String name, double score) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName(name);
+        return new SearchHit(user, score);
+    }
+
+    private static List<String> subs(TutorSearchPageDTO page) {
+        return page.getTutors().stream().map(TutorSummaryDTO::getSub).toList();
+    }
+}
@@ -0,0 +1,99 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+class TrigramIndexTest {
+
+    @Test
+    void trigramsArePadded() {
+        assertEquals(Set.of("  f", " fi", "fis", "isi", "sic", "ica", "ca "), TrigramIndex.trigrams("fisica"));
+    }
+
+    @Test
+    void typoMatchesByJaccardTimesFieldWeight() {
+        TrigramIndex index = index(tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Química"));
+
+        Map<String, Double> result = index.similar("fisca", TrigramIndex.DEFAULT_THRESHOLD);
+
+        // "fisca" y "fisica" comparten 4 de 9 trigramas distintos
+        assertEquals(Set.of("t1"), result.keySet());
+        assertEquals(TrigramIndex.SPECIALIZATION_WEIGHT * 4.0 / 9, result.get("t1"), 1e-9);
+    }
+
+    @Test
+    void nameTermsUseNameWeight() {
+        TrigramIndex index = index(tutor("t1", "Gonzalo Ruiz", "Física"));
+
+        Map<String, Double> result = index.similar("gonzalo", TrigramIndex.DEFAULT_THRESHOLD);
+
+        assertEquals(TrigramIndex.NAME_WEIGHT * 1.0, result.get("t1"), 1e-9);
+    }
+
+    @Test
+    void thresholdDiscardsDistantTerms() {
+        TrigramIndex index = index(tutor("t1", "Ana Gomez", "Física"));
+
+        assertTrue(index.similar("fisca", 0.5).isEmpty());
+        assertTrue(index.similar("historia", TrigramIndex.DEFAULT_THRESHOLD).isEmpty());
+    }
+
+    @Test
+    void shortTermsAreNotIndexed() {
+        TrigramIndex index = index(tutor("t1", "Al Ko", "Física"));
+
+        assertTrue(index.similar("al", 0.1).isEmpty());
+    }
+
+    @Test
+    void followsTutorChanges() {
+        TrigramIndex index = index(tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Física"));
+
+        index.onUserChanged(UserChangedEvent.upsert(tutor("t1", "Ana Gomez", "Historia")));
+        index.onUserChanged(UserChangedEvent.delete("t2"));
+        User student = tutor("t3", "Sofia Diaz", "Física");
+        student.setRole(List.of("STUDENT"));
+        index.onUserChanged(UserChangedEvent.upsert(student));
+
+        assertTrue(index.similar("fisica", TrigramIndex.DEFAULT_THRESHOLD).isEmpty());
+        assertEquals(Set.of("t1"), index.similar("histora", TrigramIndex.DEFAULT_THRESHOLD).keySet());
+    }
+
+    private static TrigramIndex index(User... tutors) {
+        List<User> all = List.of(tutors);
+        UserMongoRepository repository = (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> all.stream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        TrigramIndex index = new TrigramIndex(new TutorSearchIndex(repository, new TutorIndexSnapshot("", "", false)));
+        index.onApplicationReady();
+        return index;
+    }
+
+    private static User tutor(String sub, String name, String specialization) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName(name);
+        user.setRole(List.of("TUTOR"));
+        user.setSpecializations(List.of(new Specialization(specialization, false, "MANUAL", null, null)));
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+}
@@ -0,0 +1,179 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.dto.SearchFacetsDTO;
+import UpLearn.eci.edu.co.dto.TutorSearchFilterDTO;
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+class TutorFacetIndexTest {
+
+    private final TutorFacetIndex index = index(
+            tutor("a", true, 15, spec("Física", true), spec("Química", false)),
+            tutor("b", false, 25, spec("física", false)),
+            tutor("c", false, 5, spec("Historia", true)),
+            tutor("d", true, null, spec("Química", false)),
+            tutor("e", false, 80));
+
+    @Test
+    void noCriteriaMeansNoFilter() {
+        assertNull(index.filter(null));
+        assertNull(index.filter(new TutorSearchFilterDTO()));
+    }
+
+    @Test
+    void specializationIgnoresAccentsAndCase() {
+        assertEquals(List.of("a", "b"), subs(filter("FISICA", null, null, null, null)));
+        assertEquals(List.of(), subs(filter("Biología", null, null, null, null)));
+    }
+
+    @Test
+    void verifiedSpecializationWithAndWithoutSpecialization() {
+        // Con especialización: verificada esa especialización
+        assertEquals(List.of("a"), subs(filter("Física", null, true, null, null)));
+        assertEquals(List.of("b"), subs(filter("Física", null, false, null, null)));
+        // Sin especialización: alguna especialización verificada
+        assertEquals(List.of("a", "c"), subs(filter(null, null, true, null, null)));
+        assertEquals(List.of("b", "d", "e"), subs(filter(null, null, false, null, null)));
+    }
+
+    @Test
+    void priceRangesAreInclusiveAndSkipUnpriced() {
+        assertEquals(List.of("a", "b"), subs(filter(null, null, null, 15, 25)));
+        assertEquals(List.of("b", "e"), subs(filter(null, null, null, 20, null)));
+        assertEquals(List.of("a", "c"), subs(filter(null, null, null, null, 15)));
+        assertEquals(List.of(), subs(filter(null, null, null, 30, 10)));
+    }
+
+    @Test
+    void criteriaCombine() {
+        assertEquals(List.of("a", "d"), subs(filter("quimica", true, null, null, null)));
+        // "d" no tiene tarifa: cualquier rango de precio lo excluye
+        assertEquals(List.of("a"), subs(filter("quimica", true, null, 10, 20)));
+        assertEquals(List.of("a"), subs(filter(null, true, null, 0, 100)));
+    }
+
+    @Test
+    void facetsCountMatchedTutorsOnly() {
+        BitSet all = filter(null, null, null, 0, Integer.MAX_VALUE);
+        all.set(index.ordinal("d"));
+
+        SearchFacetsDTO facets = index.facets(all);
+
+        Map<String, Integer> specs = new LinkedHashMap<>();
+        specs.put("Física", 2);
+        specs.put("Química", 2);
+        specs.put("Historia", 1);
+        assertEquals(specs, facets.getSpecializations());
+        Map<String, Integer> prices = new LinkedHashMap<>();
+        prices.put("0-9", 1);
+        prices.put("10-19", 1);
+        prices.put("20-39", 1);
+        prices.put("40-79", 0);
+        prices.put("80+", 1);
+        assertEquals(prices, facets.getTokensPerHour());
+
+        SearchFacetsDTO onlyB = index.facets(filter(null, null, null, 25, 25));
+        assertEquals(Map.of("Física", 1), onlyB.getSpecializations());
+    }
+
+    @Test
+    void updatesReplacePreviousFacets() {
+        index.onUserChanged(UserChangedEvent.upsert(tutor("a", false, 50, spec("Historia", false))));
+        index.onUserChanged(UserChangedEvent.delete("b"));
+
+        assertEquals(List.of(), subs(filter("Física", null, null, null, null)));
+        assertEquals(List.of("a"), subs(filter(null, null, null, 40, 60)));
+        assertEquals(List.of("c"), subs(filter(null, null, true, null, null)));
+    }
+
+    @Test
+    void retiredOrdinalsAreReused() {
+        int ordinals = index.ordinalCount();
+        int bOrdinal = index.ordinal("b");
+
+        index.onUserChanged(UserChangedEvent.delete("b"));
+        // Quien procese el mismo evento después aún encuentra el ordinal
+        assertEquals(bOrdinal, index.ordinal("b"));
+
+        index.onUserChanged(UserChangedEvent.upsert(tutor("f", false, 25, spec("Física", false))));
+
+        assertEquals(bOrdinal, index.ordinal("f"));
+        assertEquals(-1, index.ordinal("b"));
+        assertEquals(ordinals, index.ordinalCount());
+        assertEquals(List.of("a", "f"), subs(filter("fisica", null, null, null, null)));
+
+        // Un tutor que vuelve mientras conserva su ordinal lo recupera
+        index.onUserChanged(UserChangedEvent.delete("c"));
+        int cOrdinal = index.ordinal("c");
+        index.onUserChanged(UserChangedEvent.upsert(tutor("c", false, 5, spec("Historia", true))));
+        assertEquals(cOrdinal, index.ordinal("c"));
+        index.onUserChanged(UserChangedEvent.upsert(tutor("g", false, 5)));
+        assertEquals(ordinals + 1, index.ordinalCount());
+    }
+
+    @Test
+    void churnDoesNotGrowOrdinals() {
+        for (int i = 0; i < 1000; i++) {
+            index.onUserChanged(UserChangedEvent.upsert(tutor("tmp" + i, false, 10)));
+            index.onUserChanged(UserChangedEvent.delete("tmp" + i));
+        }
+
+        assertEquals(6, index.ordinalCount());
+    }
+
+    private BitSet filter(String specialization, Boolean verified, Boolean verifiedSpecialization,
+                          Integer min, Integer max) {
+        return index.filter(new TutorSearchFilterDTO(specialization, verified, verifiedSpecialization, min, max));
+    }
+
+    private List<String> subs(BitSet ords) {
+        return new ArrayList<>(new TreeSet<>(index.subs(ords)));
+    }
+
+    private static TutorFacetIndex index(User... tutors) {
+        List<User> all = List.of(tutors);
+        UserMongoRepository repository = (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> all.stream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        TutorFacetIndex index = new TutorFacetIndex(new TutorSearchIndex(repository, new TutorIndexSnapshot("", "", false)));
+        index.onApplicationReady();
+        return index;
+    }
+
+    private static Specialization spec(String name, boolean verified) {
+        return new Specialization(name, verified, "MANUAL", null, null);
+    }
+
+    private static User tutor(String sub, boolean verified, Integer price, Specialization... specializations) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName("Tutor " + sub);
+        user.setRole(List.of("TUTOR"));
+        user.setVerified(verified);
+        user.setTokensPerHour(price);
+        user.setSpecializations(List.of(specializations));
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+}
@@ -0,0 +1,116 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+
+class TutorIndexSnapshotTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void roundTripsTutors() throws IOException {
+        TutorIndexSnapshot snapshot = snapshot("search-index.snap");
+        User full = tutor("t1", "María Gómez");
+        User sparse = new User();
+        sparse.setSub("t2");
+        sparse.setRole(List.of("TUTOR"));
+
+        snapshot.write(List.of(full, sparse), 1234L);
+        TutorIndexSnapshot.Snapshot read = snapshot.read();
+
+        assertEquals(1234L, read.highWaterMark());
+        assertTrue(read.writtenAt() > 0);
+        assertEquals(2, read.tutors().size());
+        User first = read.tutors().get(0);
+        assertEquals(full.getSub(), first.getSub());
+        assertEquals(full.getName(), first.getName());
+        assertEquals(full.getBio(), first.getBio());
+        assertEquals(full.getRole(), first.getRole());
+        assertEquals(full.getCredentials(), first.getCredentials());
+        assertEquals(full.getTokensPerHour(), first.getTokensPerHour());
+        assertEquals(full.getLastModified(), first.getLastModified());
+        assertTrue(first.isVerified());
+        assertEquals("Física", first.getSpecializations().get(0).getName());
+        assertTrue(first.getSpecializations().get(0).isVerified());
+        assertEquals(full.getSearchFields(), first.getSearchFields());
+
+        User second = read.tutors().get(1);
+        assertNull(second.getName());
+        assertNull(second.getTokensPerHour());
+        assertNull(second.getLastModified());
+        assertNull(second.getSpecializations());
+        assertNull(second.getCredentials());
+    }
+
+    @Test
+    void relativePathLivesInDataDirectoryAndAbsolutePathIsKept() {
+        assertEquals(dataDir.resolve("search-index.snap"), snapshot("search-index.snap").path());
+        Path absolute = dataDir.resolve("otro").resolve("x.snap").toAbsolutePath();
+        assertEquals(absolute, snapshot(absolute.toString()).path());
+    }
+
+    @Test
+    void writesOwnerOnlyFileAndDirectories() throws IOException {
+        TutorIndexSnapshot snapshot = snapshot("nuevo/search-index.snap");
+        if (!snapshot.path().getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+
+        snapshot.write(List.of(tutor("t1", "Ana")), 1L);
+
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(snapshot.path()));
+        assertEquals(PosixFilePermissions.fromString("rwx------"),
+                Files.getPosixFilePermissions(snapshot.path().getParent()));
+        assertFalse(Files.exists(snapshot.path().resolveSibling("search-index.snap.tmp")));
+    }
+
+    @Test
+    void missingOrCorruptSnapshotReadsAsNull() throws IOException {
+        TutorIndexSnapshot snapshot = snapshot("search-index.snap");
+        assertNull(snapshot.read());
+
+        snapshot.write(List.of(tutor("t1", "Ana")), 1L);
+        byte[] bytes = Files.readAllBytes(snapshot.path());
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(snapshot.path(), bytes);
+        assertNull(snapshot.read());
+
+        Files.write(snapshot.path(), new byte[3]);
+        assertNull(snapshot.read());
+    }
+
+    private TutorIndexSnapshot snapshot(String path) {
+        return new TutorIndexSnapshot(dataDir.toString(), path, true);
+    }
+
+    private static User tutor(String sub, String name) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName(name);
+        user.setBio("Clases de física y cálculo");
+        user.setRole(List.of("TUTOR", "STUDENT"));
+        user.setVerified(true);
+        user.setTokensPerHour(35);
+        user.setLastModified(99L);
+        user.setSpecializations(List.of(new Specialization("Física", true, "AI_VALIDATION", "2024-01-01", "url")));
+        user.setCredentials(List.of("https://example.org/c1.pdf"));
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+}
@@ -0,0 +1,97 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import UpLearn.eci.edu.co.dto.TutorSearchPageDTO;
+import UpLearn.eci.edu.co.dto.TutorSummaryDTO;
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+class TutorPriceIndexTest {
+
+    private final TutorPriceIndex index = index(
+            tutor("a", 30), tutor("b", 10), tutor("c", 20), tutor("d", 20), tutor("e", 40), tutor("f", null));
+
+    @Test
+    void listsByPriceThenSubInBothDirections() {
+        assertEquals(List.of("b", "c", "d", "a", "e"), subs(index.page(null, null, false, 10, null)));
+        assertEquals(List.of("e", "a", "d", "c", "b"), subs(index.page(null, null, true, 10, null)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void rangeBoundsAreInclusive() {
+        assertEquals(List.of("c", "d", "a"), subs(index.page(20, 30, false, 10, null)));
+        assertEquals(List.of("e"), subs(index.page(31, Integer.MAX_VALUE, false, 10, null)));
+    }
+
+    @Test
+    void invertedRangeIsEmpty() {
+        TutorSearchPageDTO page = index.page(30, 20, false, 10, null);
+
+        assertEquals(List.of(), subs(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void cursorPagesThroughRangeWithoutGapsOrRepeats() {
+        for (boolean descending : new boolean[] {false, true}) {
+            List<String> visited = new ArrayList<>();
+            PriceCursor after = null;
+            do {
+                TutorSearchPageDTO page = index.page(10, 30, descending, 2, after);
+                visited.addAll(subs(page));
+                after = page.getNextCursor() == null ? null : PriceCursor.decode(page.getNextCursor(), 10, 30);
+            } while (after != null);
+
+            assertEquals(descending ? List.of("a", "d", "c", "b") : List.of("b", "c", "d", "a"), visited);
+        }
+    }
+
+    @Test
+    void followsPriceChangesAndRemovals() {
+        index.page(null, null, false, 10, null);
+
+        index.onUserChanged(UserChangedEvent.upsert(tutor("b", 50)));
+        index.onUserChanged(UserChangedEvent.delete("c"));
+        index.onUserChanged(UserChangedEvent.upsert(tutor("a", null)));
+
+        assertEquals(List.of("d", "e", "b"), subs(index.page(null, null, false, 10, null)));
+    }
+
+    private static TutorPriceIndex index(User... tutors) {
+        List<User> all = List.of(tutors);
+        UserMongoRepository repository = (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> all.stream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new TutorPriceIndex(new TutorSearchIndex(repository, new TutorIndexSnapshot("", "", false)));
+    }
+
+    private static User tutor(String sub, Integer tokensPerHour) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName("Tutor " + sub);
+        user.setRole(List.of("TUTOR"));
+        user.setTokensPerHour(tokensPerHour);
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+
+    private static List<String> subs(TutorSearchPageDTO page) {
+        return page.getTutors().stream().map(TutorSummaryDTO::getSub).toList();
+    }
+}
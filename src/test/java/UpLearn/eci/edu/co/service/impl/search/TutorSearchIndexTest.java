@@ -0,0 +1,206 @@
+package UpLearn.eci.edu.co.service.impl.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import UpLearn.eci.edu.co.model.SearchFields;
+import UpLearn.eci.edu.co.model.Specialization;
+import UpLearn.eci.edu.co.model.User;
+import UpLearn.eci.edu.co.service.events.UserChangedEvent;
+import UpLearn.eci.edu.co.service.interfaces.repository.UserMongoRepository;
+
+class TutorSearchIndexTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void fragmentsMatchInsideTermsThroughSuffixes() {
+        TutorSearchIndex index = index(tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Química"),
+                tutor("t3", "Sofia Diaz", "Geofísica"));
+
+        assertEquals(Set.of("t1", "t3"), subs(index.candidates(null, Set.of("fisic"))));
+        assertEquals(Set.of("t2"), subs(index.candidates(null, Set.of("mica"))));
+        assertEquals(Set.of(), subs(index.candidates(null, Set.of("biologia"))));
+        // Cota inferior: la mayor posting entre "fisica" y "geofisica"
+        assertEquals(1, index.documentFrequency("sica"));
+        assertEquals(3, index.documentFrequency("clases"));
+    }
+
+    @Test
+    void phraseCandidatesContainEveryPiece() {
+        TutorSearchIndex index = index(tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Ana Perez", "Química"));
+
+        assertEquals(Set.of("t1"), subs(index.candidates("ana fisica", Set.of())));
+        // Sin letras ni dígitos no se puede acotar: todos son candidatos
+        assertEquals(Set.of("t1", "t2"), subs(index.candidates("¿?", Set.of())));
+    }
+
+    @Test
+    void upsertRelinksChangedTerms() {
+        TutorSearchIndex index = index(tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Física"));
+
+        index.onUserChanged(UserChangedEvent.upsert(tutor("t1", "Ana Gomez", "Historia")));
+
+        assertEquals(Set.of("t2"), subs(index.candidates(null, Set.of("fisica"))));
+        assertEquals(Set.of("t1"), subs(index.candidates(null, Set.of("histo"))));
+        assertEquals(1, index.documentFrequency("fisica"));
+        assertEquals(Set.of("t1", "t2"), subs(index.candidates(null, Set.of("clases"))));
+    }
+
+    @Test
+    void removalAndRoleLossDropTutor() {
+        TutorSearchIndex index = index(tutor("t1", "Ana Gomez", "Física"), tutor("t2", "Luis Perez", "Física"));
+        User student = tutor("t2", "Luis Perez", "Física");
+        student.setRole(List.of("STUDENT"));
+
+        index.onUserChanged(UserChangedEvent.delete("t1"));
+        index.onUserChanged(UserChangedEvent.upsert(student));
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.documentFrequency("fisica"));
+        assertNull(index.fieldLengths("t1"));
+        assertEquals(0, index.stats().tutors());
+    }
+
+    @Test
+    void roleMatchIgnoresCase() {
+        User tutor = tutor("t1", "Ana Gomez", "Física");
+        tutor.setRole(List.of("tUTOR"));
+
+        assertEquals(1, index(tutor).size());
+    }
+
+    @Test
+    void tracksFieldLengthsAndAverages() {
+        TutorSearchIndex index = index(tutor("t1", "Ana Maria Gomez", "Física"), tutor("t2", "Luis", "Química"));
+
+        assertEquals(3, index.fieldLengths("t1")[0]);
+        assertEquals(2.0, index.stats().avgNameLength());
+        assertEquals(2.0, index.stats().avgBioLength());
+        assertEquals(0, index.corpusGeneration() % 2);
+    }
+
+    @Test
+    void upsertReportsWhetherCorpusStatisticsChanged() {
+        TutorSearchIndex index = index(tutor("t1", "Ana Gomez", "Física"));
+        long generation = index.corpusGeneration();
+
+        // Misma versión de términos y largos (p. ej. solo cambió la tarifa): la generación no se mueve
+        User repriced = tutor("t1", "Ana Gomez", "Física");
+        repriced.setTokensPerHour(40);
+        assertFalse(index.upsert(repriced));
+        assertEquals(generation, index.corpusGeneration());
+        assertSame(repriced, index.get("t1"));
+
+        User rewritten = tutor("t1", "Ana Gomez", "Física");
+        rewritten.setBio("Clases grupales");
+        rewritten.setSearchFields(SearchFields.from(rewritten));
+        assertTrue(index.upsert(rewritten));
+        assertTrue(index.upsert(tutor("t2", "Luis Perez", "Química")));
+        assertTrue(index.remove("t2"));
+        assertFalse(index.remove("t2"));
+        assertEquals(generation + 6, index.corpusGeneration());
+    }
+
+    @Test
+    void catalogueVersionChangesWhenSameInstanceIsSavedAgain() {
+        User tutor = tutor("t1", "Ana Gomez", "Física");
+        tutor.setLastModified(1000L);
+        TutorSearchIndex index = index(tutor);
+        String before = index.catalogueVersion();
+
+        // El repositorio actualiza lastModified sobre el mismo objeto que el índice ya tiene
+        tutor.setLastModified(2000L);
+        index.onUserChanged(UserChangedEvent.upsert(tutor));
+
+        assertNotEquals(before, index.catalogueVersion());
+        index.onUserChanged(UserChangedEvent.delete("t1"));
+        assertEquals(index(new User[0]).catalogueVersion(), index.catalogueVersion());
+    }
+
+    @Test
+    void catalogueVersionDoesNotDependOnArrivalOrder() {
+        User a = tutor("a", "Ana Gomez", "Física");
+        User b = tutor("b", "Luis Perez", "Química");
+        a.setLastModified(10L);
+        b.setLastModified(20L);
+
+        assertEquals(index(a, b).catalogueVersion(), index(b, a).catalogueVersion());
+    }
+
+    @Test
+    void snapshotCatchUpAppliesChangesAndRemovesDeletedTutors() throws IOException {
+        TutorIndexSnapshot snapshot = new TutorIndexSnapshot(dataDir.toString(), "search-index.snap", true);
+        User a = tutor("a", "Ana Gomez", "Física");
+        User b = tutor("b", "Luis Perez", "Física");
+        a.setLastModified(1000L);
+        b.setLastModified(1000L);
+        snapshot.write(List.of(a, b), 1000L);
+
+        // Después del snapshot: "a" cambió de especialización y "b" se eliminó
+        User changed = tutor("a", "Ana Gomez", "Historia");
+        changed.setLastModified(5000L);
+        User idOnly = new User();
+        idOnly.setSub("a");
+        TutorSearchIndex index = new TutorSearchIndex(repository(List.of(), List.of(changed), List.of(idOnly)), snapshot);
+        index.ensureLoaded();
+
+        assertEquals(1, index.size());
+        assertNull(index.get("b"));
+        assertEquals(Set.of("a"), subs(index.candidates(null, Set.of("historia"))));
+        assertEquals(0, index.documentFrequency("fisica"));
+    }
+
+    private static TutorSearchIndex index(User... tutors) {
+        TutorSearchIndex index = new TutorSearchIndex(repository(List.of(tutors), List.of(), List.of()),
+                new TutorIndexSnapshot("", "", false));
+        index.ensureLoaded();
+        return index;
+    }
+
+    private static UserMongoRepository repository(List<User> all, List<User> modified, List<User> ids) {
+        return (UserMongoRepository) Proxy.newProxyInstance(
+                UserMongoRepository.class.getClassLoader(),
+                new Class<?>[] {UserMongoRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "streamAllTutors" -> all.stream();
+                    case "streamModifiedSince" -> modified.stream();
+                    case "streamTutorIds" -> ids.stream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static User tutor(String sub, String name, String specialization) {
+        User user = new User();
+        user.setSub(sub);
+        user.setName(name);
+        user.setRole(List.of("TUTOR"));
+        user.setBio("Clases personalizadas");
+        user.setSpecializations(List.of(new Specialization(specialization, false, "MANUAL", null, null)));
+        user.setSearchFields(SearchFields.from(user));
+        return user;
+    }
+
+    private static Set<String> subs(Collection<User> users) {
+        Set<String> subs = new TreeSet<>();
+        users.forEach(user -> subs.add(user.getSub()));
+        return subs;
+    }
+}
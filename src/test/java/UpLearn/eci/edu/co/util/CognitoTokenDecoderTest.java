@@ -0,0 +1,85 @@
+package UpLearn.eci.edu.co.util;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwtException;
+
+/** Comprobación de iss, aud/client_id y token_use (sin JWKS, la firma no se verifica) */
+class CognitoTokenDecoderTest {
+
+    private static final String ISSUER = "https://cognito-idp.us-east-1.amazonaws.com/us-east-1_Example";
+
+    private final CognitoTokenDecoder decoder = new CognitoTokenDecoder(new TokenClaimsCache(0),
+            new JwksKeyProvider("", "", 0), ISSUER, "client-a, client-b", "id", false);
+
+    @Test
+    void acceptsTokenFromConfiguredPoolAndClient() {
+        String token = token("\"iss\":\"" + ISSUER + "\",\"aud\":\"client-b\",\"token_use\":\"id\"");
+
+        assertEquals("s1", decoder.decodePrincipal(token).sub());
+        assertTrue(decoder.isTokenValid(token));
+    }
+
+    @Test
+    void acceptsAudienceArray() {
+        String token = token("\"iss\":\"" + ISSUER + "\",\"aud\":[\"otro\",\"client-a\"],\"token_use\":\"id\"");
+
+        assertEquals("s1", decoder.decodePrincipal(token).sub());
+    }
+
+    @Test
+    void rejectsForeignIssuer() {
+        String token = token("\"iss\":\"https://evil.example\",\"aud\":\"client-a\",\"token_use\":\"id\"");
+
+        assertThrows(JwtException.class, () -> decoder.decodePrincipal(token));
+        assertFalse(decoder.isTokenValid(token));
+    }
+
+    @Test
+    void rejectsUnknownClientAndWrongTokenUse() {
+        String foreignClient = token("\"iss\":\"" + ISSUER + "\",\"aud\":\"client-z\",\"token_use\":\"id\"");
+        String accessToken = token("\"iss\":\"" + ISSUER + "\",\"client_id\":\"client-a\",\"token_use\":\"access\"");
+        String noAudience = token("\"iss\":\"" + ISSUER + "\",\"token_use\":\"id\"");
+
+        assertThrows(JwtException.class, () -> decoder.decodePrincipal(foreignClient));
+        assertThrows(JwtException.class, () -> decoder.decodePrincipal(accessToken));
+        assertThrows(JwtException.class, () -> decoder.decodePrincipal(noAudience));
+    }
+
+    @Test
+    void issuerIsDerivedFromCognitoJwksUrl() {
+        // Sin iss configurado, la verificación obligatoria solo arranca si se deduce de la URL
+        assertDoesNotThrow(() -> new CognitoTokenDecoder(new TokenClaimsCache(0),
+                new JwksKeyProvider(ISSUER + "/.well-known/jwks.json", "", 0), "", "client-a", "id", true));
+        assertThrows(IllegalStateException.class, () -> new CognitoTokenDecoder(new TokenClaimsCache(0),
+                new JwksKeyProvider("https://keys.example/jwks", "", 0), "", "client-a", "id", true));
+    }
+
+    @Test
+    void requiredVerificationFailsWithoutConfiguration() {
+        assertThrows(IllegalStateException.class, () -> new CognitoTokenDecoder(new TokenClaimsCache(0),
+                new JwksKeyProvider("", "", 0), ISSUER, "client-a", "id", true));
+        assertThrows(IllegalStateException.class, () -> new CognitoTokenDecoder(new TokenClaimsCache(0),
+                new JwksKeyProvider("", "", 0), "", "", "id", true));
+    }
+
+    /* Token sin firma válida con sub, email, name, exp y los claims dados */
+    private static String token(String claims) {
+        long exp = System.currentTimeMillis() / 1000 + 3600;
+        String payload = "{\"sub\":\"s1\",\"email\":\"ana@example.org\",\"name\":\"Ana\",\"exp\":" + exp + ","
+                + claims + "}";
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"RS256\",\"kid\":\"k1\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(new byte[32]);
+    }
+}
@@ -0,0 +1,55 @@
+package UpLearn.eci.edu.co.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class ConditionalGetTest {
+
+    private final CacheControl cacheControl = CacheControl.noCache();
+
+    @Test
+    void matchingEtagAnswersNotModifiedWithoutBody() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<String> response = ConditionalGet.respond("\"v1\"", "v1", cacheControl, () -> {
+            calls.incrementAndGet();
+            return "cuerpo";
+        });
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void staleOrMissingEtagAnswersOkWithCurrentVersion() {
+        ResponseEntity<String> stale = ConditionalGet.respond("\"v0\"", "v1", cacheControl, () -> "cuerpo");
+        ResponseEntity<String> fresh = ConditionalGet.respond(null, "v1", cacheControl, () -> "cuerpo");
+
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        assertEquals("cuerpo", stale.getBody());
+        assertEquals("\"v1\"", stale.getHeaders().getETag());
+        assertEquals("no-cache", stale.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.OK, fresh.getStatusCode());
+    }
+
+    @Test
+    void ifNoneMatchComparisonIsWeak() {
+        assertTrue(ConditionalGet.matches("W/\"v1\"", "\"v1\""));
+        assertTrue(ConditionalGet.matches("\"v0\", \"v1\"", "\"v1\""));
+        assertTrue(ConditionalGet.matches("*", "\"v1\""));
+        assertFalse(ConditionalGet.matches("v1", "\"v1\""));
+        assertFalse(ConditionalGet.matches(" ", "\"v1\""));
+        assertFalse(ConditionalGet.matches(null, "\"v1\""));
+    }
+}
@@ -0,0 +1,95 @@
+package UpLearn.eci.edu.co.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void rejectsBeyondLimitUntilReleased() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+
+        limiter.release(MILLI, true);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void initialLimitIsClampedToBounds() {
+        assertEquals(10, new GradientConcurrencyLimiter(50, 1, 10).limit());
+        assertEquals(3, new GradientConcurrencyLimiter(0, 3, 10).limit());
+    }
+
+    @Test
+    void stableLatencyAtFullUseRaisesLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(4, 1, 100);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, MILLI);
+        }
+
+        assertTrue(limiter.limit() > 4, "límite " + limiter.limit());
+    }
+
+    @Test
+    void risingLatencyLowersLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100);
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, MILLI);
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            saturate(limiter, 10 * MILLI);
+        }
+
+        assertTrue(limiter.limit() < before, before + " -> " + limiter.limit());
+        assertTrue(limiter.limit() >= 1);
+    }
+
+    @Test
+    void lowUsageDoesNotRaiseLimit() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 1, 100);
+
+        // Una petición a la vez: nunca se pone a prueba el límite
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(MILLI, true);
+        }
+
+        assertEquals(20, limiter.limit());
+    }
+
+    @Test
+    void failedRequestsAreNotSampled() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(4, 1, 100);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire();
+            limiter.release(1000 * MILLI, false);
+        }
+
+        assertEquals(4, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    /* Ocupa todo el límite actual y libera cada lugar con la latencia dada */
+    private static void saturate(GradientConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, true);
+        }
+    }
+}
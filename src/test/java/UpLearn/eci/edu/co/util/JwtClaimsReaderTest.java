@@ -0,0 +1,106 @@
+package UpLearn.eci.edu.co.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwtException;
+
+class JwtClaimsReaderTest {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Test
+    void segmentsRequireExactlyThreeParts() {
+        JwtClaimsReader.Segments segments = JwtClaimsReader.Segments.of("aa.bbb.c");
+        assertEquals(2, segments.firstDot());
+        assertEquals(6, segments.secondDot());
+
+        for (String malformed : new String[] {"", "aa", "aa.bb", ".bb.cc", "aa.bb.cc.dd"}) {
+            assertThrows(JwtException.class, () -> JwtClaimsReader.Segments.of(malformed), malformed);
+        }
+    }
+
+    @Test
+    void decodesBase64UrlWithAndWithoutPadding() {
+        for (int length = 0; length < 8; length++) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (0xF0 + i * 37);
+            }
+            String plain = ENCODER.encodeToString(bytes);
+            String padded = Base64.getUrlEncoder().encodeToString(bytes);
+
+            assertArrayEquals(bytes, JwtClaimsReader.decode(plain, 0, plain.length()));
+            assertArrayEquals(bytes, JwtClaimsReader.decode(padded, 0, padded.length()));
+        }
+        assertThrows(JwtException.class, () -> JwtClaimsReader.decode("ab+/", 0, 4));
+        assertThrows(JwtException.class, () -> JwtClaimsReader.decode("abcde", 0, 5));
+    }
+
+    @Test
+    void readsHeaderAndClaims() throws Exception {
+        String token = token("{\"kid\":\"k1\",\"typ\":\"JWT\",\"alg\":\"RS256\"}",
+                "{\"sub\":\"s1\",\"cognito:groups\":[\"a\",\"b\"],\"email\":\"ana@example.org\",\"name\":\"María\","
+                        + "\"phone_number\":\"+57300\",\"nickname\":\"ani\",\"exp\":1700000000,"
+                        + "\"iss\":\"https://issuer\",\"aud\":\"client-a\",\"token_use\":\"id\"}");
+        JwtClaimsReader.Segments segments = JwtClaimsReader.Segments.of(token);
+
+        JwtClaimsReader.Header header = JwtClaimsReader.readHeader(token, segments);
+        JwtClaimsReader.TokenClaims claims = JwtClaimsReader.readClaims(token, segments);
+
+        assertEquals(new JwtClaimsReader.Header("RS256", "k1"), header);
+        assertEquals(new CognitoPrincipal("s1", "ana@example.org", "María", "+57300", "ani", 1700000000L),
+                claims.principal());
+        assertEquals("https://issuer", claims.issuer());
+        assertEquals(List.of("client-a"), claims.audience());
+        assertEquals("id", claims.tokenUse());
+        assertNull(claims.clientId());
+    }
+
+    @Test
+    void audienceMayBeAnArray() throws Exception {
+        String token = token("{}", "{\"aud\":[\"client-a\",7,{\"x\":1},\"client-b\"],\"client_id\":\"c\"}");
+
+        JwtClaimsReader.TokenClaims claims = JwtClaimsReader.readClaims(token, JwtClaimsReader.Segments.of(token));
+
+        assertEquals(List.of("client-a", "client-b"), claims.audience());
+        assertEquals("c", claims.clientId());
+    }
+
+    @Test
+    void nonScalarClaimsAreSkippedWhole() throws Exception {
+        // Un sub anidado dentro de email no debe reemplazar al sub real
+        String token = token("{\"alg\":{\"kid\":\"falso\"},\"kid\":\"k1\"}",
+                "{\"sub\":\"real\",\"email\":{\"sub\":\"falso\"},\"name\":[\"sub\",\"falso\"],"
+                        + "\"exp\":{\"exp\":1},\"nickname\":null}");
+        JwtClaimsReader.Segments segments = JwtClaimsReader.Segments.of(token);
+
+        CognitoPrincipal principal = JwtClaimsReader.readPrincipal(token, segments);
+        JwtClaimsReader.Header header = JwtClaimsReader.readHeader(token, segments);
+
+        assertEquals(new CognitoPrincipal("real", null, null, null, null, 0), principal);
+        assertEquals(new JwtClaimsReader.Header(null, "k1"), header);
+    }
+
+    @Test
+    void payloadMustBeAnObject() {
+        String token = token("{}", "[\"sub\"]");
+
+        assertThrows(JwtException.class,
+                () -> JwtClaimsReader.readClaims(token, JwtClaimsReader.Segments.of(token)));
+    }
+
+    private static String token(String header, String payload) {
+        return ENCODER.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + ENCODER.encodeToString(new byte[] {1, 2, 3});
+    }
+}
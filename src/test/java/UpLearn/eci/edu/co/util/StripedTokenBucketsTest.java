@@ -0,0 +1,63 @@
+package UpLearn.eci.edu.co.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class StripedTokenBucketsTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void burstIsGrantedThenWaitIsReported() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 3, 4, 16);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("ip:a", 0));
+        }
+        assertEquals(SECOND, buckets.tryAcquire("ip:a", 0));
+        assertEquals(SECOND / 2, buckets.tryAcquire("ip:a", SECOND / 2));
+        assertEquals(0, buckets.tryAcquire("ip:a", SECOND));
+    }
+
+    @Test
+    void refillIsCappedAtBurst() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(10, 2, 4, 16);
+        buckets.tryAcquire("ip:a", 0);
+        buckets.tryAcquire("ip:a", 0);
+
+        // Una hora sin peticiones no acumula más que la ráfaga
+        long later = 3600 * SECOND;
+        assertEquals(0, buckets.tryAcquire("ip:a", later));
+        assertEquals(0, buckets.tryAcquire("ip:a", later));
+        assertEquals(SECOND / 10, buckets.tryAcquire("ip:a", later));
+    }
+
+    @Test
+    void clientsHaveIndependentBuckets() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 1, 1, 16);
+
+        assertEquals(0, buckets.tryAcquire("ip:a", 0));
+        assertEquals(SECOND, buckets.tryAcquire("ip:a", 0));
+        assertEquals(0, buckets.tryAcquire("ip:b", 0));
+    }
+
+    @Test
+    void evictedClientComesBackWithFullBucket() {
+        // Franjas de un solo cliente; "Aa" y "BB" tienen el mismo hashCode y comparten franja
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 1, 1, 1);
+        assertEquals(0, buckets.tryAcquire("ip:Aa", 0));
+        assertEquals(SECOND, buckets.tryAcquire("ip:Aa", 0));
+        assertEquals(0, buckets.tryAcquire("ip:BB", 0));
+
+        assertEquals(0, buckets.tryAcquire("ip:Aa", 0));
+    }
+
+    @Test
+    void zeroRateNeverRefills() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(0, 1, 1, 16);
+        assertEquals(0, buckets.tryAcquire("ip:a", 0));
+
+        assertEquals(Long.MAX_VALUE, buckets.tryAcquire("ip:a", 3600 * SECOND));
+    }
+}
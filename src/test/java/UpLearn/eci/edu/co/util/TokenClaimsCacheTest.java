@@ -0,0 +1,87 @@
+package UpLearn.eci.edu.co.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class TokenClaimsCacheTest {
+
+    @Test
+    void returnsCachedPrincipalAndCountsHits() {
+        TokenClaimsCache cache = new TokenClaimsCache(10);
+        CognitoPrincipal principal = principal("s1", inSeconds(3600));
+
+        assertNull(cache.get("token-1"));
+        cache.put("token-1", principal);
+
+        assertSame(principal, cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void expiredPrincipalsAreNotStored() {
+        TokenClaimsCache cache = new TokenClaimsCache(10);
+
+        cache.put("token-1", principal("s1", inSeconds(-10)));
+        // Sin exp cuenta como expirado
+        cache.put("token-2", principal("s2", 0));
+
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    @Test
+    void entriesDoNotOutliveTheirToken() throws InterruptedException {
+        TokenClaimsCache cache = new TokenClaimsCache(10);
+        long exp = inSeconds(1);
+        cache.put("token-1", principal("s1", exp));
+        cache.put("token-2", principal("s2", exp));
+        cache.put("token-3", principal("s3", inSeconds(3600)));
+
+        while (System.currentTimeMillis() / 1000 < exp) {
+            Thread.sleep(50);
+        }
+
+        assertNull(cache.get("token-1"));
+        cache.purgeExpired();
+        assertEquals(1, cache.stats().get("size"));
+        assertEquals(2L, cache.stats().get("expirations"));
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() {
+        TokenClaimsCache cache = new TokenClaimsCache(2);
+        long exp = inSeconds(3600);
+        cache.put("token-1", principal("s1", exp));
+        cache.put("token-2", principal("s2", exp));
+        cache.get("token-1");
+
+        cache.put("token-3", principal("s3", exp));
+
+        assertNull(cache.get("token-2"));
+        assertEquals("s1", cache.get("token-1").sub());
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void zeroMaxEntriesDisablesCache() {
+        TokenClaimsCache cache = new TokenClaimsCache(0);
+
+        cache.put("token-1", principal("s1", inSeconds(3600)));
+
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.stats().get("size"));
+        assertEquals(0L, cache.stats().get("misses"));
+    }
+
+    private static CognitoPrincipal principal(String sub, long expiresAt) {
+        return new CognitoPrincipal(sub, sub + "@example.org", "Usuario", null, null, expiresAt);
+    }
+
+    private static long inSeconds(long seconds) {
+        return System.currentTimeMillis() / 1000 + seconds;
+    }
+}